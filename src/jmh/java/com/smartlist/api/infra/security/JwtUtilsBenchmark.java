@@ -0,0 +1,92 @@
+package com.smartlist.api.infra.security;
+
+import com.smartlist.api.infra.config.JwtProperties;
+import com.smartlist.api.user.model.User;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho antigo do filtro JWT (um parser novo e um parse completo em isValidToken e de
+ * novo em getUsernameFromToken) com uma única chamada a verify no parser compartilhado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-for-hmac";
+
+    private SecretKey key;
+    private JwtUtils jwtUtils;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiration(3_600_000);
+        properties.setRefreshTokenExpiration(3_600_000);
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jwtUtils = new JwtUtils(properties);
+        User user = new User("benchmark@email.com", "encodedPassword");
+        user.setUserId(1L);
+
+        validToken = jwtUtils.generateAccessToken(user);
+        tamperedToken = validToken.substring(0, validToken.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public String legacyValidToken() {
+        return legacyAuthenticate(validToken);
+    }
+
+    @Benchmark
+    public String verifyValidToken() {
+        return authenticate(validToken);
+    }
+
+    @Benchmark
+    public String legacyTamperedToken() {
+        return legacyAuthenticate(tamperedToken);
+    }
+
+    @Benchmark
+    public String verifyTamperedToken() {
+        return authenticate(tamperedToken);
+    }
+
+    private String authenticate(String token) {
+        JwtVerification verification = jwtUtils.verify(token);
+        return verification.isValid() ? verification.token().subject() : null;
+    }
+
+    private String legacyAuthenticate(String token) {
+        try {
+            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+}
@@ -0,0 +1,137 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.SmartlistApiApplication;
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.user.model.User;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa refreshInventory contra o H2 do perfil de teste. A lista ativa é esvaziada antes de cada
+ * invocação para que todo item crítico seja inserido novamente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryApplicationServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private InventoryApplicationService inventoryApplicationService;
+    private JdbcTemplate jdbcTemplate;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(SmartlistApiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+
+        inventoryApplicationService = context.getBean(InventoryApplicationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        user = transactionTemplate.execute(status -> {
+            User benchmarkUser = new User("benchmark@email.com", "encodedPassword");
+            benchmarkUser.setCriticalQuantityDays(5);
+            entityManager.persist(benchmarkUser);
+            return benchmarkUser;
+        });
+
+        Long categoryId = transactionTemplate.execute(status -> {
+            Category category = new Category();
+            category.setUser(entityManager.merge(user));
+            category.setName("Benchmark");
+            entityManager.persist(category);
+            return category.getCategoryId();
+        });
+
+        insertItems(SyntheticInventory.items(user, size), categoryId);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearShoppingList() {
+        jdbcTemplate.update("DELETE FROM shopping_list_item");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void refreshInventory() {
+        inventoryApplicationService.refreshInventory(user);
+    }
+
+    private void insertItems(List<Item> items, Long categoryId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO item (item_id, user_id, category_id, name, quantity, unit, avg_consumption_value, avg_consumption_unit, "
+                        + "avg_consumption_per_day, price, in_shopping_list, last_stock_update, critical_quantity_days_override, "
+                        + "adaptive_consumption, consumption_samples, created_at, updated_at) "
+                        + "VALUES (nextval('item_item_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?, false, 0, ?, ?)",
+                items,
+                1_000,
+                (ps, item) -> {
+                    ps.setLong(1, user.getUserId());
+                    ps.setLong(2, categoryId);
+                    ps.setString(3, item.getName());
+                    ps.setBigDecimal(4, item.getQuantity());
+                    ps.setString(5, item.getUnit().name());
+                    ps.setBigDecimal(6, item.getAvgConsumptionValue());
+                    ps.setString(7, item.getAvgConsumptionUnit().name());
+                    ps.setBigDecimal(8, item.getAvgConsumptionPerDay());
+                    ps.setBigDecimal(9, item.getPrice());
+
+                    if (item.getLastStockUpdate() == null) {
+                        ps.setNull(10, Types.DATE);
+                    } else {
+                        ps.setDate(10, Date.valueOf(item.getLastStockUpdate()));
+                    }
+
+                    if (item.getCriticalQuantityDaysOverride() == null) {
+                        ps.setNull(11, Types.INTEGER);
+                    } else {
+                        ps.setInt(11, item.getCriticalQuantityDaysOverride());
+                    }
+
+                    ps.setTimestamp(12, now);
+                    ps.setTimestamp(13, now);
+                }
+        );
+    }
+}
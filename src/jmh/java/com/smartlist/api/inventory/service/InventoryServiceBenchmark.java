@@ -0,0 +1,119 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.shoppinglist.service.ShoppingListService;
+import com.smartlist.api.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private List<Item> items;
+    private BigDecimal[] virtualStocks;
+
+    private long[] quantities;
+    private long[] avgConsumptionsPerDay;
+    private long[] daysSinceLastUpdate;
+    private long[] criticalDays;
+
+    private InventoryService inventoryService;
+
+    @Setup
+    public void setup() {
+        User user = SyntheticInventory.user();
+        items = SyntheticInventory.items(user, size);
+        inventoryService = new InventoryService(new StubShoppingListService());
+
+        LocalDate today = LocalDate.now();
+        virtualStocks = new BigDecimal[size];
+        quantities = new long[size];
+        avgConsumptionsPerDay = new long[size];
+        daysSinceLastUpdate = new long[size];
+        criticalDays = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            Item item = items.get(i);
+            virtualStocks[i] = inventoryService.calculateVirtualStock(item);
+            quantities[i] = FixedPointInventoryEvaluator.toScaled(item.getQuantity());
+            avgConsumptionsPerDay[i] = FixedPointInventoryEvaluator.toScaled(item.getAvgConsumptionPerDay());
+            daysSinceLastUpdate[i] = item.getLastStockUpdate() == null
+                    ? 0
+                    : ChronoUnit.DAYS.between(item.getLastStockUpdate(), today);
+            criticalDays[i] = item.getCriticalQuantityDaysOverride() != null
+                    ? item.getCriticalQuantityDaysOverride()
+                    : user.getCriticalQuantityDays();
+        }
+    }
+
+    @Benchmark
+    public void calculateVirtualStock(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(inventoryService.calculateVirtualStock(item));
+        }
+    }
+
+    @Benchmark
+    public void isCritical(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(inventoryService.isCritical(items.get(i), virtualStocks[i]));
+        }
+    }
+
+    @Benchmark
+    public void processItem() {
+        for (Item item : items) {
+            inventoryService.processItem(item);
+        }
+    }
+
+    @Benchmark
+    public void fixedPointIsCritical(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(FixedPointInventoryEvaluator.isCritical(
+                    quantities[i],
+                    avgConsumptionsPerDay[i],
+                    daysSinceLastUpdate[i],
+                    criticalDays[i]
+            ));
+        }
+    }
+
+    static class StubShoppingListService extends ShoppingListService {
+
+        private long added;
+
+        StubShoppingListService() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public void addItemToShoppingList(Item item, User user) {
+            added++;
+        }
+    }
+}
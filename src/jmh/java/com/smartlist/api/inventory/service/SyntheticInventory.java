@@ -0,0 +1,50 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.user.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class SyntheticInventory {
+
+    private static final long SEED = 20240601L;
+
+    private SyntheticInventory() {}
+
+    static User user() {
+        User user = new User("benchmark@email.com", "encodedPassword");
+        user.setUserId(1L);
+        user.setCriticalQuantityDays(5);
+        return user;
+    }
+
+    static List<Item> items(User user, int size) {
+        Random random = new Random(SEED);
+        LocalDate today = LocalDate.now();
+        List<Item> items = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setItemId((long) i + 1);
+            item.setUser(user);
+            item.setName("Item " + i);
+            item.setUnit(UnitOfMeasure.UNIT);
+            item.setQuantity(BigDecimal.valueOf(random.nextInt(50_000), 3));
+            item.setAvgConsumptionValue(BigDecimal.ONE);
+            item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+            item.setAvgConsumptionPerDay(BigDecimal.valueOf(random.nextInt(5_000), 3));
+            item.setPrice(new BigDecimal("10.00"));
+            item.setLastStockUpdate(random.nextInt(20) == 0 ? null : today.minusDays(random.nextInt(60)));
+            item.setCriticalQuantityDaysOverride(random.nextBoolean() ? null : random.nextInt(15));
+            items.add(item);
+        }
+
+        return items;
+    }
+}
@@ -4,8 +4,10 @@ import com.smartlist.api.infra.config.CorsProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableConfigurationProperties(CorsProperties.class)
+@EnableScheduling
 @SpringBootApplication
 public class SmartlistApiApplication {
 
@@ -4,20 +4,26 @@ import com.smartlist.api.auth.dto.LoginRequest;
 import com.smartlist.api.auth.dto.TokenResponse;
 import com.smartlist.api.exceptions.InvalidCredentialsException;
 import com.smartlist.api.exceptions.InvalidJwtException;
+import com.smartlist.api.exceptions.ServiceUnavailableException;
+import com.smartlist.api.exceptions.TooManyRequestsException;
+import com.smartlist.api.infra.security.PasswordHasher;
 import com.smartlist.api.refreshtoken.model.RefreshToken;
 import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
+import com.smartlist.api.refreshtoken.service.RefreshTokenDigest;
 import com.smartlist.api.infra.security.JwtUtils;
+import com.smartlist.api.infra.security.JwtVerification;
+import com.smartlist.api.infra.security.PrincipalCache;
+import com.smartlist.api.infra.security.VerifiedToken;
 import com.smartlist.api.user.model.User;
 import com.smartlist.api.user.repository.UserRepository;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -26,21 +32,23 @@ import java.util.Optional;
 @Service
 public class AuthService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtils jwtUtils;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final PrincipalCache principalCache;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtils jwtUtils, RefreshTokenRepository refreshTokenRepository) {
+    public AuthService(UserRepository userRepository, PasswordHasher passwordHasher, JwtUtils jwtUtils, RefreshTokenRepository refreshTokenRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtils = jwtUtils;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.principalCache = principalCache;
     }
 
     public TokenResponse login(LoginRequest dto, HttpServletResponse response) {
         User user = authenticate(dto);
 
-        String accessToken = createAccessToken(dto.email());
+        String accessToken = createAccessToken(user);
         String refreshToken = createRefreshToken(dto.email());
 
         saveRefreshToken(refreshToken, user);
@@ -65,17 +73,37 @@ public class AuthService {
             return new InvalidCredentialsException("A1001", "Credenciais inválidas");
         });
 
-        if (!passwordEncoder.matches(dto.password(), user.getPassword())) {
+        if (!passwordHasher.matches(dto.password(), user.getPassword())) {
             log.warn("Falha de autenticação: senha incorreta. Email={}", dto.email());
             throw new InvalidCredentialsException("A1001", "Credenciais inválidas");
         }
 
+        rehashIfNeeded(user, dto.password());
+
         log.info("Login realizado com sucesso. UserId={}", user.getUserId());
         return user;
     }
 
-    private String createAccessToken(String username) {
-        return jwtUtils.generateAccessToken(username);
+    /*
+     * Regrava o hash quando o custo configurado do BCrypt mudou. A senha continua a mesma, então a
+     * versão das credenciais não muda; se o pool estiver ocupado, fica para o próximo login.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        try {
+            user.setPassword(passwordHasher.encode(rawPassword));
+            userRepository.save(user);
+            log.info("Hash de senha atualizado para o custo configurado. UserId={}", user.getUserId());
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            log.debug("Atualização do hash de senha adiada. UserId={}", user.getUserId());
+        }
+    }
+
+    private String createAccessToken(User user) {
+        return jwtUtils.generateAccessToken(user);
     }
 
     private String createRefreshToken(String username) {
@@ -84,18 +112,23 @@ public class AuthService {
 
     public void saveRefreshToken(String token, User user) {
         log.info("Refresh Token criado. UserId={}", user.getUserId());
-        Claims claims = jwtUtils.getClaimsFromToken(token);
+        VerifiedToken verified = jwtUtils.verify(token).token();
 
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setRefreshTokenId(claims.getId());
-        refreshToken.setToken(token);
+        refreshToken.setRefreshTokenId(verified.tokenId());
+        refreshToken.setTokenDigest(RefreshTokenDigest.of(token));
         refreshToken.setUser(user);
-        refreshToken.setExpiresAt(claims.getExpiration().toInstant());
+        refreshToken.setExpiresAt(verified.expiresAt());
         refreshToken.setUsed(false);
 
         refreshTokenRepository.save(refreshToken);
     }
 
+    /*
+     * Na reutilização a revogação precisa ser gravada mesmo com o A1003 lançado em seguida,
+     * por isso InvalidJwtException não desfaz a transação.
+     */
+    @Transactional(noRollbackFor = InvalidJwtException.class)
     public String refreshToken(HttpServletRequest request, HttpServletResponse response) {
         String refreshToken = null;
 
@@ -108,13 +141,19 @@ public class AuthService {
             }
         }
 
-        if (refreshToken == null || !jwtUtils.isValidToken(refreshToken)) {
-            log.warn("Refresh token ausente ou inválido");
+        if (refreshToken == null) {
+            log.warn("Refresh token ausente");
             throw new InvalidJwtException("A1002", "Refresh token inválido ou ausente");
         }
 
-        Claims claims = jwtUtils.getClaimsFromToken(refreshToken);
-        Optional<RefreshToken> optionalToken = refreshTokenRepository.findByToken(refreshToken);
+        JwtVerification verification = jwtUtils.verify(refreshToken);
+
+        if (!verification.isValid()) {
+            log.warn("Refresh token inválido. Motivo={}", verification.failure());
+            throw new InvalidJwtException("A1002", "Refresh token inválido ou ausente");
+        }
+
+        Optional<RefreshToken> optionalToken = findStoredToken(verification.token(), refreshToken);
 
         if (optionalToken.isEmpty()) {
             log.warn("Refresh token não encontrado no banco");
@@ -126,7 +165,11 @@ public class AuthService {
                     "Reutilização de refresh token detectada. UserId={}",
                     optionalToken.get().getUser().getUserId()
             );
-            refreshTokenRepository.invalidateAllByUser(optionalToken.get().getUser());
+            User user = optionalToken.get().getUser();
+            refreshTokenRepository.invalidateAllByUser(user);
+            user.setCredentialsVersion(user.getCredentialsVersion() + 1);
+            userRepository.save(user);
+            principalCache.invalidate(user.getUserId());
             throw new InvalidJwtException("A1003", "Refresh token reutilizado. Sessão invalidada.");
         }
 
@@ -135,7 +178,7 @@ public class AuthService {
         refreshTokenRepository.save(oldToken);
 
         User user = oldToken.getUser();
-        String newAccessToken = jwtUtils.generateAccessToken(user.getEmail());
+        String newAccessToken = jwtUtils.generateAccessToken(user);
         String newRefreshToken = jwtUtils.generateRefreshToken(user.getEmail());
 
         saveRefreshToken(newRefreshToken, user);
@@ -164,8 +207,10 @@ public class AuthService {
             }
         }
 
-        if (refreshToken != null && jwtUtils.isValidToken(refreshToken)) {
-            Optional<RefreshToken> optionalToken = refreshTokenRepository.findByToken(refreshToken);
+        JwtVerification verification = refreshToken != null ? jwtUtils.verify(refreshToken) : null;
+
+        if (verification != null && verification.isValid()) {
+            Optional<RefreshToken> optionalToken = findStoredToken(verification.token(), refreshToken);
             optionalToken.ifPresent(token -> {
                 token.setUsed(true);
                 refreshTokenRepository.save(token);
@@ -177,4 +222,13 @@ public class AuthService {
 
         log.info("Logout realizado. Refresh token invalidado se existente.");
     }
+
+    private Optional<RefreshToken> findStoredToken(VerifiedToken verified, String token) {
+        if (verified.tokenId() == null) {
+            return Optional.empty();
+        }
+
+        return refreshTokenRepository.findById(verified.tokenId())
+                .filter(stored -> RefreshTokenDigest.matches(stored.getTokenDigest(), token));
+    }
 }
@@ -0,0 +1,128 @@
+package com.smartlist.api.auth.service;
+
+import com.smartlist.api.infra.config.TokenJanitorProperties;
+import com.smartlist.api.passwordreset.repository.PasswordResetTokenRepository;
+import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Limpa refresh_token e password_reset_token fora do caminho das requisições. Cada lote é um UPDATE
+ * ou DELETE limitado, em transação própria e seguido de uma pausa, então nenhum lock dura mais que
+ * um lote. Tokens já finalizados ou vencidos só são apagados depois da retenção.
+ */
+@Slf4j
+@Component
+public class TokenJanitor {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final TokenJanitorProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final DistributionSummary purgedRefreshTokens;
+    private final DistributionSummary purgedPasswordResetTokens;
+    private final DistributionSummary expiredPasswordResetTokens;
+    private final Timer runDuration;
+
+    public TokenJanitor(
+            RefreshTokenRepository refreshTokenRepository,
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            TokenJanitorProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.properties = properties;
+
+        this.purgedRefreshTokens = DistributionSummary.builder("security.token.janitor.purged")
+                .tag("table", "refresh_token")
+                .register(meterRegistry);
+        this.purgedPasswordResetTokens = DistributionSummary.builder("security.token.janitor.purged")
+                .tag("table", "password_reset_token")
+                .register(meterRegistry);
+        this.expiredPasswordResetTokens = DistributionSummary.builder("security.token.janitor.expired")
+                .tag("table", "password_reset_token")
+                .register(meterRegistry);
+        this.runDuration = Timer.builder("security.token.janitor.run.duration").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${security.token-janitor.cron:0 15 * * * *}")
+    public void runScheduled() {
+        start();
+    }
+
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Limpeza de tokens já está em execução");
+            return false;
+        }
+
+        Thread.ofVirtual().name("token-janitor").start(() -> {
+            try {
+                run();
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return true;
+    }
+
+    void run() {
+        long startedAt = System.nanoTime();
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(properties.getRetention());
+
+        try {
+            int expired = inBatches(limit -> passwordResetTokenRepository.expirePendingBatch(now, limit));
+            int refreshPurged = inBatches(limit -> refreshTokenRepository.deleteExpiredBatch(cutoff, limit));
+            int resetPurged = inBatches(limit -> passwordResetTokenRepository.deleteFinishedBatch(cutoff, limit));
+
+            expiredPasswordResetTokens.record(expired);
+            purgedRefreshTokens.record(refreshPurged);
+            purgedPasswordResetTokens.record(resetPurged);
+
+            log.info(
+                    "Limpeza de tokens finalizada. RedefinicoesExpiradas={}, RefreshApagados={}, RedefinicoesApagadas={}, DuracaoMs={}",
+                    expired,
+                    refreshPurged,
+                    resetPurged,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Limpeza de tokens interrompida");
+        } catch (RuntimeException e) {
+            log.error("Falha na limpeza de tokens", e);
+        } finally {
+            runDuration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int inBatches(IntUnaryOperator batch) throws InterruptedException {
+        int batchSize = Math.max(properties.getBatchSize(), 1);
+        int total = 0;
+        int affected;
+
+        do {
+            affected = batch.applyAsInt(batchSize);
+            total += affected;
+
+            if (affected == batchSize) {
+                Thread.sleep(properties.getPause());
+            }
+        } while (affected == batchSize);
+
+        return total;
+    }
+}
@@ -0,0 +1,7 @@
+package com.smartlist.api.exceptions;
+
+public class ServiceUnavailableException extends CustomException {
+    public ServiceUnavailableException(String code, String message) {
+        super(code, message);
+    }
+}
\ No newline at end of file
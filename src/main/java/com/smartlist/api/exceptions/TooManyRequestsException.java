@@ -0,0 +1,7 @@
+package com.smartlist.api.exceptions;
+
+public class TooManyRequestsException extends CustomException {
+    public TooManyRequestsException(String code, String message) {
+        super(code, message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "inventory.consumption-learning")
+public class ConsumptionLearningProperties {
+    private BigDecimal alpha = new BigDecimal("0.3");
+}
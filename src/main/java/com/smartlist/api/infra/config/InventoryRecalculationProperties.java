@@ -0,0 +1,16 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "inventory.recalculation")
+public class InventoryRecalculationProperties {
+    private int partitions = 8;
+    private int maxConcurrency = 4;
+    private int batchSize = 200;
+}
@@ -0,0 +1,18 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "inventory.snapshot-cache")
+public class InventorySnapshotCacheProperties {
+    private Duration ttl = Duration.ofMinutes(5);
+    private DataSize maxMemory = DataSize.ofMegabytes(32);
+}
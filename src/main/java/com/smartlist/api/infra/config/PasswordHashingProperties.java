@@ -0,0 +1,19 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+    private int bcryptStrength = 10;
+    private int threads = 0;
+    private int queueCapacity = 64;
+    private Duration timeout = Duration.ofSeconds(2);
+}
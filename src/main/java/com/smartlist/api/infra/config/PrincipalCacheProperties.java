@@ -0,0 +1,17 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.principal-cache")
+public class PrincipalCacheProperties {
+    private Duration ttl = Duration.ofMinutes(5);
+    private long maxSize = 10_000;
+}
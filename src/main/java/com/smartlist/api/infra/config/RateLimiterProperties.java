@@ -0,0 +1,16 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.rate-limiter")
+public class RateLimiterProperties {
+    private String store = "memory";
+    private long maxKeys = 100_000;
+    private int cleanupBatchSize = 1_000;
+}
@@ -0,0 +1,35 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.request-rate-limit")
+public class RequestRateLimitProperties {
+    private boolean enabled = true;
+    private List<Policy> policies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private String name;
+        private List<String> methods = new ArrayList<>();
+        private List<String> paths = new ArrayList<>();
+        private KeyType key = KeyType.IP;
+        private int limit;
+        private Duration window = Duration.ofMinutes(1);
+    }
+
+    public enum KeyType {
+        IP,
+        PRINCIPAL
+    }
+}
@@ -1,11 +1,18 @@
 package com.smartlist.api.infra.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlist.api.infra.ratelimit.RateLimitFilter;
+import com.smartlist.api.infra.ratelimit.RateLimiter;
 import com.smartlist.api.infra.security.JwtAuthenticationFilter;
 import com.smartlist.api.infra.security.JwtUtils;
+import com.smartlist.api.infra.security.PrincipalCache;
 import com.smartlist.api.infra.security.PublicEndpoints;
 import com.smartlist.api.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -32,23 +39,46 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtUtils jwtUtils;
+    private final PrincipalCache principalCache;
     private final UserRepository userRepository;
     private final CorsProperties corsProperties;
 
-    public SecurityConfig(JwtUtils jwtUtils, UserRepository userRepository, CorsProperties corsProperties) {
+    public SecurityConfig(JwtUtils jwtUtils, PrincipalCache principalCache, UserRepository userRepository, CorsProperties corsProperties) {
         this.jwtUtils = jwtUtils;
+        this.principalCache = principalCache;
         this.userRepository = userRepository;
         this.corsProperties = corsProperties;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtils, userRepository);
+        return new JwtAuthenticationFilter(jwtUtils, principalCache, userRepository);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public RateLimitFilter rateLimitFilter(
+            RateLimiter rateLimiter,
+            RequestRateLimitProperties requestRateLimitProperties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        return new RateLimitFilter(rateLimiter, requestRateLimitProperties, objectMapper, meterRegistry);
+    }
+
+    /*
+     * O filtro só deve rodar dentro da cadeia do Spring Security, depois do JWT; sem isso o Boot
+     * também o registraria no container e cada requisição contaria duas vezes.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BCryptPasswordEncoder(passwordHashingProperties.getBcryptStrength());
     }
 
     @Bean
@@ -88,7 +118,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter, AuthenticationProvider authenticationProvider) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter, AuthenticationProvider authenticationProvider) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -100,9 +130,11 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(PublicEndpoints.ALL).permitAll()
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 }
@@ -0,0 +1,14 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "report.spending-rollup")
+public class SpendingRollupProperties {
+    private int rebuildBatchSize = 200;
+}
@@ -0,0 +1,18 @@
+package com.smartlist.api.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.token-janitor")
+public class TokenJanitorProperties {
+    private int batchSize = 1_000;
+    private Duration pause = Duration.ofMillis(200);
+    private Duration retention = Duration.ofDays(1);
+}
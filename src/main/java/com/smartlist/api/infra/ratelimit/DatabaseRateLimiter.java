@@ -0,0 +1,64 @@
+package com.smartlist.api.infra.ratelimit;
+
+import com.smartlist.api.infra.config.RateLimiterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter compartilhado entre réplicas: as contagens ficam em rate_limit_bucket e cada
+ * tentativa é um upsert atômico. As janelas são alinhadas ao epoch, então todos os nós concordam
+ * sobre a janela atual sem coordenação.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "security.rate-limiter", name = "store", havingValue = "database")
+public class DatabaseRateLimiter implements RateLimiter {
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+    private final RateLimiterProperties properties;
+
+    public DatabaseRateLimiter(RateLimitBucketRepository rateLimitBucketRepository, RateLimiterProperties properties) {
+        this.rateLimitBucketRepository = rateLimitBucketRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, Duration window) {
+        Instant now = Instant.now();
+        long windowMillis = window.toMillis();
+        long nowMillis = now.toEpochMilli();
+        long index = Math.floorDiv(nowMillis, windowMillis);
+        long elapsed = Math.floorMod(nowMillis, windowMillis);
+
+        RateLimitBucketRepository.Hits hits = rateLimitBucketRepository.hit(key, index, now.plus(window.multipliedBy(2)));
+
+        return SlidingWindow.decide(
+                hits.previous(),
+                hits.current() - 1,
+                TimeUnit.MILLISECONDS.toNanos(elapsed),
+                TimeUnit.MILLISECONDS.toNanos(windowMillis),
+                limit
+        );
+    }
+
+    @Scheduled(cron = "${security.rate-limiter.cleanup-cron:0 */10 * * * *}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int batchSize = Math.max(properties.getCleanupBatchSize(), 1);
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = rateLimitBucketRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        log.debug("Contadores de rate limit expirados removidos. Quantidade={}", total);
+    }
+}
@@ -0,0 +1,116 @@
+package com.smartlist.api.infra.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.smartlist.api.infra.config.RateLimiterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rate limiter local à JVM. Cada chave guarda as contagens da janela atual e da anterior numa
+ * referência atualizada por CAS, sem locks; o mapa é um cache Caffeine limitado por tamanho, que
+ * descarta chaves ociosas depois de duas janelas. Serve para uma instância; com várias réplicas,
+ * use o store "database".
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.rate-limiter", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, Window> windows;
+    private final Ticker ticker;
+
+    @Autowired
+    public InMemoryRateLimiter(RateLimiterProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    InMemoryRateLimiter(RateLimiterProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.ticker = ticker;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfter(new IdleExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, windows, "security.rate.limiter");
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, Duration window) {
+        long windowNanos = window.toNanos();
+        Window entry = windows.get(key, k -> new Window(windowNanos));
+
+        long now = ticker.read();
+        long index = Math.floorDiv(now, entry.length);
+        long elapsed = Math.floorMod(now, entry.length);
+
+        Counts seen;
+        Counts rolled;
+
+        do {
+            seen = entry.counts.get();
+            rolled = seen.rollTo(index);
+        } while (!entry.counts.compareAndSet(seen, rolled.hit()));
+
+        return SlidingWindow.decide(rolled.previous(), rolled.current(), elapsed, entry.length, limit);
+    }
+
+    void cleanUp() {
+        windows.cleanUp();
+    }
+
+    long estimatedSize() {
+        return windows.estimatedSize();
+    }
+
+    private record Counts(long index, long previous, long current) {
+
+        Counts rollTo(long target) {
+            if (target == index) {
+                return this;
+            }
+
+            return new Counts(target, target == index + 1 ? current : 0, 0);
+        }
+
+        Counts hit() {
+            return new Counts(index, previous, current + 1);
+        }
+    }
+
+    private static final class Window {
+        private final long length;
+        private final AtomicReference<Counts> counts = new AtomicReference<>(new Counts(Long.MIN_VALUE, 0, 0));
+
+        private Window(long length) {
+            this.length = length;
+        }
+    }
+
+    private static final class IdleExpiry implements Expiry<String, Window> {
+
+        @Override
+        public long expireAfterCreate(String key, Window window, long currentTime) {
+            return window.length * 2;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Window window, long currentTime, long currentDuration) {
+            return window.length * 2;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Window window, long currentTime, long currentDuration) {
+            return window.length * 2;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.smartlist.api.infra.ratelimit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Repository
+public class RateLimitBucketRepository {
+
+    /*
+     * Um único upsert conta a tentativa e devolve as contagens: o lock da linha serializa nós
+     * concorrentes. O SET avalia tudo contra a linha antiga, então a ordem das colunas não importa.
+     * ON CONFLICT DO UPDATE ... RETURNING é sintaxe do PostgreSQL que o H2 dos testes não aceita;
+     * DatabaseRateLimiterTest usa um mock deste repositório, então o SQL só roda contra PostgreSQL.
+     */
+    private static final String HIT = """
+            INSERT INTO rate_limit_bucket AS b (bucket_key, window_index, hits, previous_hits, expires_at)
+            VALUES (?, ?, 1, 0, ?)
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET previous_hits = CASE
+                    WHEN b.window_index = EXCLUDED.window_index THEN b.previous_hits
+                    WHEN b.window_index = EXCLUDED.window_index - 1 THEN b.hits
+                    ELSE 0
+                END,
+                hits = CASE
+                    WHEN b.window_index = EXCLUDED.window_index THEN b.hits + 1
+                    ELSE 1
+                END,
+                window_index = EXCLUDED.window_index,
+                expires_at = EXCLUDED.expires_at
+            RETURNING previous_hits, hits
+            """;
+
+    private static final String DELETE_EXPIRED_BATCH = """
+            DELETE FROM rate_limit_bucket
+            WHERE bucket_key IN (
+                SELECT bucket_key
+                FROM rate_limit_bucket
+                WHERE expires_at < ?
+                LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RateLimitBucketRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Hits hit(String key, long windowIndex, Instant expiresAt) {
+        return jdbcTemplate.queryForObject(
+                HIT,
+                (rs, rowNum) -> new Hits(rs.getLong("previous_hits"), rs.getLong("hits")),
+                key,
+                windowIndex,
+                Timestamp.from(expiresAt)
+        );
+    }
+
+    public int deleteExpiredBatch(Instant now, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_BATCH, Timestamp.from(now), limit);
+    }
+
+    public record Hits(long previous, long current) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.smartlist.api.infra.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Resultado de RateLimiter.tryAcquire. resetAfter é o tempo até o fim da janela atual quando a
+ * tentativa passa e, quando é recusada, o tempo até a estimativa voltar a ficar abaixo do limite,
+ * sem contar novas tentativas.
+ */
+public record RateLimitDecision(boolean allowed, int limit, int remaining, Duration resetAfter) {
+
+    public static RateLimitDecision allowed(int limit, int remaining, Duration resetAfter) {
+        return new RateLimitDecision(true, limit, remaining, resetAfter);
+    }
+
+    public static RateLimitDecision rejected(int limit, Duration retryAfter) {
+        return new RateLimitDecision(false, limit, 0, retryAfter);
+    }
+
+    public long resetAfterSeconds() {
+        long seconds = resetAfter.toSeconds() + (resetAfter.toNanosPart() > 0 ? 1 : 0);
+        return Math.max(seconds, 1);
+    }
+}
@@ -0,0 +1,187 @@
+package com.smartlist.api.infra.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlist.api.infra.config.RequestRateLimitProperties;
+import com.smartlist.api.shared.dto.ApiResponse;
+import com.smartlist.api.userdetails.UserDetailsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica as políticas de security.request-rate-limit antes dos controllers. Roda depois do filtro
+ * JWT para que políticas por usuário enxerguem o principal; políticas por IP usam o endereço
+ * remoto do container, então atrás de proxy configure server.forward-headers-strategy. Todas as
+ * políticas que casam com a requisição contam; os cabeçalhos RateLimit-* refletem a mais apertada.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<CompiledPolicy> policies;
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            RequestRateLimitProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        this.policies = properties.getPolicies().stream()
+                .map(policy -> CompiledPolicy.of(policy, meterRegistry))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || policies.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        RateLimitDecision tightest = null;
+
+        for (CompiledPolicy policy : policies) {
+            if (!policy.matches(request.getMethod(), path)) {
+                continue;
+            }
+
+            String subject = subject(policy.keyType(), request);
+
+            if (subject == null) {
+                continue;
+            }
+
+            RateLimitDecision decision = rateLimiter.tryAcquire(RateLimitKey.of("request:" + policy.name(), subject), policy.limit(), policy.window());
+
+            if (!decision.allowed()) {
+                policy.rejected().increment();
+                log.warn(
+                        "Rate limit excedido. Politica={}, Chave={}, Method={}, URI={}",
+                        policy.name(),
+                        subject,
+                        request.getMethod(),
+                        request.getRequestURI()
+                );
+                reject(response, decision);
+                return;
+            }
+
+            if (tightest == null || decision.remaining() < tightest.remaining()) {
+                tightest = decision;
+            }
+        }
+
+        if (tightest != null) {
+            writeHeaders(response, tightest);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String subject(RequestRateLimitProperties.KeyType keyType, HttpServletRequest request) {
+        if (keyType == RequestRateLimitProperties.KeyType.IP) {
+            return "ip:" + request.getRemoteAddr();
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return "user:" + userDetails.getUserId();
+        }
+
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, RateLimitDecision decision) throws IOException {
+        writeHeaders(response, decision);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.resetAfterSeconds()));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        objectMapper.writeValue(
+                response.getWriter(),
+                new ApiResponse<>(false, "Muitas requisições. Tente novamente em instantes.", Map.of("code", "R4291"))
+        );
+    }
+
+    private void writeHeaders(HttpServletResponse response, RateLimitDecision decision) {
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.resetAfterSeconds()));
+    }
+
+    private record CompiledPolicy(
+            String name,
+            Set<String> methods,
+            List<PathPattern> paths,
+            RequestRateLimitProperties.KeyType keyType,
+            int limit,
+            Duration window,
+            Counter rejected
+    ) {
+
+        static CompiledPolicy of(RequestRateLimitProperties.Policy policy, MeterRegistry meterRegistry) {
+            return new CompiledPolicy(
+                    policy.getName(),
+                    policy.getMethods().stream()
+                            .map(method -> method.toUpperCase(Locale.ROOT))
+                            .collect(Collectors.toUnmodifiableSet()),
+                    policy.getPaths().stream()
+                            .map(PathPatternParser.defaultInstance::parse)
+                            .toList(),
+                    policy.getKey(),
+                    policy.getLimit(),
+                    policy.getWindow(),
+                    Counter.builder("security.request.rate.limit.rejected")
+                            .tag("policy", policy.getName())
+                            .register(meterRegistry)
+            );
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+
+            return paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.smartlist.api.infra.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Chave de um contador: escopo legível seguido do SHA-256 em hex do sujeito. O sujeito pode ser
+ * um e-mail sem limite de tamanho; o digest mantém a chave dentro de rate_limit_bucket.bucket_key
+ * e evita guardar o e-mail em texto puro.
+ */
+public final class RateLimitKey {
+
+    private RateLimitKey() {
+    }
+
+    public static String of(String scope, String subject) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(subject.getBytes(StandardCharsets.UTF_8));
+            return scope + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
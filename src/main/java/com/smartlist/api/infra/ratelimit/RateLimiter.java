@@ -0,0 +1,12 @@
+package com.smartlist.api.infra.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Janela deslizante por chave: cada tentativa conta, inclusive as recusadas. A chave deve carregar
+ * o escopo (ex.: "password-reset:ip:10.0.0.1") para que políticas diferentes não dividam contador.
+ */
+public interface RateLimiter {
+
+    RateLimitDecision tryAcquire(String key, int limit, Duration window);
+}
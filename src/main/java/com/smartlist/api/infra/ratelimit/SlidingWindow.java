@@ -0,0 +1,37 @@
+package com.smartlist.api.infra.ratelimit;
+
+import java.time.Duration;
+
+/*
+ * Contador de janela deslizante aproximado: a janela anterior pesa na proporção do que ainda falta
+ * da janela atual. Guarda dois números por chave em vez de um timestamp por requisição.
+ */
+final class SlidingWindow {
+
+    private SlidingWindow() {
+    }
+
+    /*
+     * previous e current são as contagens antes desta tentativa; elapsed é quanto já passou da
+     * janela atual. Todos os tempos em nanossegundos.
+     */
+    static RateLimitDecision decide(long previous, long current, long elapsed, long window, int limit) {
+        double estimate = previous * ((double) (window - elapsed) / window) + current;
+
+        if (estimate < limit) {
+            int remaining = (int) Math.max(0, Math.floor(limit - estimate - 1));
+            return RateLimitDecision.allowed(limit, remaining, Duration.ofNanos(window - elapsed));
+        }
+
+        long attempts = current + 1;
+        double wait;
+
+        if (attempts >= limit) {
+            wait = (window - elapsed) + window * (1 - (double) limit / attempts);
+        } else {
+            wait = window * (1 - (double) (limit - attempts) / previous) - elapsed;
+        }
+
+        return RateLimitDecision.rejected(limit, Duration.ofNanos((long) Math.ceil(Math.max(wait, 1))));
+    }
+}
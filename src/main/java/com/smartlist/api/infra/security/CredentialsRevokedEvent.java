@@ -0,0 +1,5 @@
+package com.smartlist.api.infra.security;
+
+public record CredentialsRevokedEvent(
+        Long userId
+) {}
@@ -1,6 +1,5 @@
 package com.smartlist.api.infra.security;
 
-import com.smartlist.api.user.model.User;
 import com.smartlist.api.user.repository.UserRepository;
 import com.smartlist.api.userdetails.UserDetailsImpl;
 import jakarta.servlet.FilterChain;
@@ -10,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -18,10 +18,12 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
+    private final PrincipalCache principalCache;
     private final UserRepository userRepository;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, PrincipalCache principalCache, UserRepository userRepository) {
         this.jwtUtils = jwtUtils;
+        this.principalCache = principalCache;
         this.userRepository = userRepository;
     }
 
@@ -37,48 +39,65 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
             String jwt = authHeader.substring(7);
 
-            if (jwtUtils.isValidToken(jwt)) {
-                String username = jwtUtils.getUsernameFromToken(jwt);
-                User user = userRepository.findByEmail(username).orElse(null);
-                if (user == null) {
-                    log.warn(
-                            "JWT inválido. IP={}, Method={}, URI={}",
-                            request.getRemoteAddr(),
-                            request.getMethod(),
-                            request.getRequestURI()
-                    );
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                UserDetailsImpl userDetails = new UserDetailsImpl(user);
+            JwtVerification verification = jwtUtils.verify(jwt);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
+            if (!verification.isValid()) {
+                log.warn(
+                        "Falha de autenticação JWT. Motivo={}, IP={}, Method={}, URI={}",
+                        verification.failure(),
+                        request.getRemoteAddr(),
+                        request.getMethod(),
+                        request.getRequestURI()
                 );
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            VerifiedToken token = verification.token();
 
-                log.debug(
-                        "Usuário autenticado via JWT. UserId={}, Email={}",
-                        user.getUserId(),
-                        user.getEmail()
-                );
-            } else {
+            if (
+                    token.userId() == null ||
+                    token.credentialsVersion() == null ||
+                    !principalCache.isCurrent(token.userId(), token.credentialsVersion())
+            ) {
                 log.warn(
-                        "Falha de autenticação JWT. IP={}, Method={}, URI={}",
+                        "JWT revogado ou sem claims do usuário. UserId={}, IP={}, Method={}, URI={}",
+                        token.userId(),
                         request.getRemoteAddr(),
                         request.getMethod(),
                         request.getRequestURI()
                 );
+                filterChain.doFilter(request, response);
+                return;
             }
+
+            Long userId = token.userId();
+            UserDetailsImpl userDetails = UserDetailsImpl.fromClaims(
+                    userId,
+                    token.subject(),
+                    token.expiresAt(),
+                    () -> userRepository.findById(userId)
+                            .orElseThrow(() -> new UsernameNotFoundException("User not found"))
+            );
+
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+
+            authentication.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            log.debug(
+                    "Usuário autenticado via JWT. UserId={}, Email={}",
+                    userId,
+                    token.subject()
+            );
         }
 
         filterChain.doFilter(request, response);
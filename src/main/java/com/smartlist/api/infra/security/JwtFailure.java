@@ -0,0 +1,8 @@
+package com.smartlist.api.infra.security;
+
+public enum JwtFailure {
+    MISSING,
+    EXPIRED,
+    INVALID_SIGNATURE,
+    MALFORMED
+}
@@ -1,36 +1,46 @@
 package com.smartlist.api.infra.security;
 
 import com.smartlist.api.infra.config.JwtProperties;
-import com.smartlist.api.exceptions.InvalidJwtException;
+import com.smartlist.api.user.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtUtils {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String CREDENTIALS_VERSION_CLAIM = "cv";
 
     private final SecretKey key;
+    private final JwtParser parser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
     public JwtUtils(JwtProperties jwtProperties) {
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.parser = Jwts.parser().verifyWith(key).build();
         this.accessTokenExpiration = jwtProperties.getAccessTokenExpiration();
         this.refreshTokenExpiration = jwtProperties.getRefreshTokenExpiration();
     }
 
-    public String generateAccessToken(String username) {
+    public String generateAccessToken(User user) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
-                .claim("sub", username)
+                .claim("sub", user.getEmail())
+                .claim(USER_ID_CLAIM, user.getUserId())
+                .claim(CREDENTIALS_VERSION_CLAIM, user.getCredentialsVersion())
                 .claim("iat", new Date(now))
                 .claim("exp", new Date(now + accessTokenExpiration))
                 .signWith(key)
@@ -48,41 +58,41 @@ public class JwtUtils {
                 .compact();
     }
 
-    public Claims getClaimsFromToken(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (JwtException e) {
-            log.warn("Token JWT inválido ou expirado: {}", e.getMessage());
-            throw new InvalidJwtException("J4001", "Token JWT inválido ou expirado");
+    /*
+     * Verifica assinatura e expiração com uma única leitura do token. As exceções da biblioteca
+     * ficam contidas aqui; quem chama recebe um resultado e decide o que fazer.
+     */
+    public JwtVerification verify(String token) {
+        if (token == null || token.isBlank()) {
+            return JwtVerification.rejected(JwtFailure.MISSING);
         }
-    }
 
-    public boolean isValidToken(String token) {
         try {
-            getClaimsFromToken(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+
+            return JwtVerification.verified(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getId(),
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    claims.get(CREDENTIALS_VERSION_CLAIM, Integer.class),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration())
+            ));
+        } catch (ExpiredJwtException e) {
+            return rejected(JwtFailure.EXPIRED, e);
+        } catch (SignatureException e) {
+            return rejected(JwtFailure.INVALID_SIGNATURE, e);
+        } catch (JwtException | IllegalArgumentException e) {
+            return rejected(JwtFailure.MALFORMED, e);
         }
     }
 
-    public String getUsernameFromToken(String token) {
-        try {
-            return getClaimsFromToken(token).get("sub", String.class);
-        } catch (JwtException e) {
-            return null;
-        }
+    private static JwtVerification rejected(JwtFailure failure, Exception e) {
+        log.debug("Token JWT rejeitado. Motivo={}, Erro={}", failure, e.getMessage());
+        return JwtVerification.rejected(failure);
     }
 
-    public Date getExpirationFromToken(String token) {
-        try {
-            return getClaimsFromToken(token).get("exp", Date.class);
-        } catch (JwtException e) {
-            return null;
-        }
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 }
@@ -0,0 +1,19 @@
+package com.smartlist.api.infra.security;
+
+/**
+ * Resultado de JwtUtils.verify: as claims já verificadas ou o motivo da rejeição, nunca os dois.
+ */
+public record JwtVerification(VerifiedToken token, JwtFailure failure) {
+
+    public static JwtVerification verified(VerifiedToken token) {
+        return new JwtVerification(token, null);
+    }
+
+    public static JwtVerification rejected(JwtFailure failure) {
+        return new JwtVerification(null, failure);
+    }
+
+    public boolean isValid() {
+        return token != null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.smartlist.api.infra.security;
+
+import com.smartlist.api.exceptions.ServiceUnavailableException;
+import com.smartlist.api.exceptions.TooManyRequestsException;
+import com.smartlist.api.infra.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa o BCrypt num pool próprio, do tamanho dos núcleos e com fila limitada, para que uma onda
+ * de logins não ocupe todas as threads do Tomcat. Com a fila cheia a operação é recusada com 429, e se a
+ * espera passar do timeout, com 503, em vez de enfileirar indefinidamente.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    private final Timer encodeDuration;
+    private final Timer matchesDuration;
+    private final Timer queueWait;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = properties.getTimeout();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(properties.getQueueCapacity(), 1)),
+                Thread.ofPlatform().name("password-hasher-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeDuration = Timer.builder("security.password.hashing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesDuration = Timer.builder("security.password.hashing")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("security.password.hashing.queue.wait").register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("security.password.hashing.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("security.password.hashing.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        meterRegistry.gauge("security.password.hashing.queue.size", executor, pool -> pool.getQueue().size());
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeDuration, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesDuration, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /*
+     * Só lê o custo gravado no hash, então roda na thread de quem chama.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Timer duration, Callable<T> operation) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return duration.recordCallable(operation);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            log.warn("Fila de hash de senha cheia. Fila={}, Threads={}", executor.getQueue().size(), executor.getMaximumPoolSize());
+            throw new TooManyRequestsException("S4291", "Muitas requisições. Tente novamente em instantes.");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimeout.increment();
+            log.warn("Hash de senha excedeu o tempo limite. TimeoutMs={}", timeout.toMillis());
+            throw unavailable();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException("Falha no hash de senha", e.getCause());
+        }
+    }
+
+    private static ServiceUnavailableException unavailable() {
+        return new ServiceUnavailableException("S5031", "Servidor ocupado. Tente novamente em instantes.");
+    }
+}
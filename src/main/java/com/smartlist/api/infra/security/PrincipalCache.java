@@ -0,0 +1,78 @@
+package com.smartlist.api.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartlist.api.infra.config.PrincipalCacheProperties;
+import com.smartlist.api.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Versão atual das credenciais de cada usuário, indexada pelo id. O filtro JWT compara com a claim
+ * do access token para recusar tokens emitidos antes de uma troca de senha ou de uma sessão
+ * invalidada, sem carregar o usuário. Usuários inexistentes não são guardados. A invalidação publica
+ * CredentialsRevokedEvent para que conexões longas do usuário também sejam encerradas.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, Integer> cache;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            PrincipalCacheProperties properties,
+            MeterRegistry meterRegistry,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.principal");
+    }
+
+    public boolean isCurrent(Long userId, int credentialsVersion) {
+        Integer current = cache.get(userId, this::load);
+        return current != null && current == credentialsVersion;
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+
+        eventPublisher.publishEvent(new CredentialsRevokedEvent(userId));
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private Integer load(Long userId) {
+        log.debug("Carregando versão das credenciais. UserId={}", userId);
+        return userRepository.findCredentialsVersion(userId).orElse(null);
+    }
+}
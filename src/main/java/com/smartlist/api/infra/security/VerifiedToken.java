@@ -0,0 +1,12 @@
+package com.smartlist.api.infra.security;
+
+import java.time.Instant;
+
+public record VerifiedToken(
+        String subject,
+        String tokenId,
+        Long userId,
+        Integer credentialsVersion,
+        Instant issuedAt,
+        Instant expiresAt
+) {}
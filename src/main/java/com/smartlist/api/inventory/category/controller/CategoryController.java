@@ -28,7 +28,7 @@ public class CategoryController {
 
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponse<CategoryListResponseDTO>>> list(@AuthenticationPrincipal UserDetailsImpl userDetails, @PageableDefault(size = 10) Pageable pageable) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         Page<CategoryListResponseDTO> categories = categoryService.list(user, pageable);
 
         PageResponse<CategoryListResponseDTO> response = new PageResponse<>();
@@ -44,14 +44,14 @@ public class CategoryController {
 
     @GetMapping("/all")
     public ResponseEntity<ApiResponse<List<CategoryListResponseDTO>>> listAll(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         List<CategoryListResponseDTO> categories = categoryService.listAll(user);
         return ResponseEntity.ok(new ApiResponse<>(true, "Categorias listadas com sucesso.", categories));
     }
 
     @PostMapping
     public ResponseEntity<ApiResponse<Void>> register(@RequestBody @Valid CategoryRegisterRequestDTO registerRequestDTO, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         categoryService.register(registerRequestDTO, user);
         return ResponseEntity.ok(new ApiResponse<>(true, "Categoria registrada com sucesso.", null));
     }
@@ -59,14 +59,14 @@ public class CategoryController {
 
     @PatchMapping("{categoryId}")
     public ResponseEntity<ApiResponse<Void>> update(@PathVariable Long categoryId, @RequestBody @Valid CategoryUpdateRequestDTO updateRequestDTO, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         categoryService.update(categoryId, updateRequestDTO, user);
         return ResponseEntity.ok(new ApiResponse<>(true, "Categoria atualizada com sucesso.", null));
     }
 
     @DeleteMapping("{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         categoryService.deleteById(id, user);
         return ResponseEntity.ok(new ApiResponse<>(true, "Categoria excluída com sucesso.", null));
     }
@@ -6,6 +6,7 @@ import com.smartlist.api.inventory.category.dto.CategoryUpdateRequestDTO;
 import com.smartlist.api.inventory.category.dto.CategoryListResponseDTO;
 import com.smartlist.api.inventory.category.model.Category;
 import com.smartlist.api.inventory.category.repository.CategoryRepository;
+import com.smartlist.api.inventory.snapshot.service.InventorySnapshotCache;
 import com.smartlist.api.user.model.User;
 import com.smartlist.api.user.service.UserService;
 import lombok.extern.slf4j.Slf4j;
@@ -19,10 +20,12 @@ import java.util.List;
 public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserService userService;
+    private final InventorySnapshotCache inventorySnapshotCache;
 
-    public CategoryService(CategoryRepository categoryRepository, UserService userService) {
+    public CategoryService(CategoryRepository categoryRepository, UserService userService, InventorySnapshotCache inventorySnapshotCache) {
         this.categoryRepository = categoryRepository;
         this.userService = userService;
+        this.inventorySnapshotCache = inventorySnapshotCache;
     }
 
     public Page<CategoryListResponseDTO> list(User user, Pageable pageable) {
@@ -56,6 +59,7 @@ public class CategoryService {
         category.setUser(user);
 
         categoryRepository.save(category);
+        inventorySnapshotCache.invalidate(user);
 
         log.info("Categoria cadastrada com sucesso. UserId={}, CategoryId={}", user.getUserId(), category.getCategoryId());
     }
@@ -76,6 +80,7 @@ public class CategoryService {
         category.setName(dto.name());
 
         categoryRepository.save(category);
+        inventorySnapshotCache.invalidate(user);
 
         log.info("Categoria atualizada com sucesso. UserId={}, CategoryId={}", user.getUserId(), categoryId);
     }
@@ -98,6 +103,7 @@ public class CategoryService {
                 });
 
         categoryRepository.deleteById(categoryId);
+        inventorySnapshotCache.invalidate(user);
 
         log.info(
                 "Categoria excluída com sucesso. UserId={}, CategoryId={}",
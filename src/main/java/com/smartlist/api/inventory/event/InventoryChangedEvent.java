@@ -0,0 +1,7 @@
+package com.smartlist.api.inventory.event;
+
+import com.smartlist.api.user.model.User;
+
+public record InventoryChangedEvent(
+        User user
+) {}
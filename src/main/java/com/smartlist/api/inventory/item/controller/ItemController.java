@@ -4,7 +4,9 @@ import com.smartlist.api.infra.common.dto.PageResponse;
 import com.smartlist.api.inventory.item.dto.ItemListResponse;
 import com.smartlist.api.inventory.item.dto.ItemRegisterRequest;
 import com.smartlist.api.inventory.item.dto.ItemUpdateRequest;
+import com.smartlist.api.inventory.item.dto.StockAdjustmentRequest;
 import com.smartlist.api.inventory.item.service.ItemService;
+import com.smartlist.api.inventory.service.InventoryApplicationService;
 import com.smartlist.api.shared.dto.ApiResponse;
 import com.smartlist.api.user.model.User;
 import com.smartlist.api.userdetails.UserDetailsImpl;
@@ -21,14 +23,16 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/inventory/items")
 public class ItemController {
     private final ItemService itemService;
+    private final InventoryApplicationService inventoryApplicationService;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, InventoryApplicationService inventoryApplicationService) {
         this.itemService = itemService;
+        this.inventoryApplicationService = inventoryApplicationService;
     }
 
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponse<ItemListResponse>>> list(@AuthenticationPrincipal UserDetailsImpl userDetails, @PageableDefault(size = 10) Pageable pageable) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         Page<ItemListResponse> items = itemService.list(user, pageable);
 
         PageResponse<ItemListResponse> response = new PageResponse<>();
@@ -49,16 +53,23 @@ public class ItemController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Item cadastrado com sucesso.", null));
     }
 
+    @PostMapping("/stock-adjustments")
+    public ResponseEntity<ApiResponse<Void>> adjustStock(@RequestBody @Valid StockAdjustmentRequest requestDTO, @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        User user = userDetails.getUserReference();
+        inventoryApplicationService.adjustStock(user, requestDTO.items());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Estoque ajustado com sucesso.", null));
+    }
+
     @PatchMapping("{itemId}")
     public ResponseEntity<ApiResponse<Void>> update(@PathVariable Long itemId, @RequestBody @Valid ItemUpdateRequest requestDTO, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         itemService.update(itemId, requestDTO, user);
         return ResponseEntity.ok(new ApiResponse<>(true, "Item atualizado com sucesso", null));
     }
 
     @DeleteMapping("{itemId}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long itemId, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
         itemService.deleteById(itemId, user);
         return ResponseEntity.ok(new ApiResponse<>(true, "Item excluído com sucesso.", null));
     }
@@ -11,5 +11,7 @@ public record ItemListResponse(
         BigDecimal avgConsumptionValue,
         String avgConsumptionUnit,
         Long categoryId,
-        String categoryName
+        String categoryName,
+        boolean adaptiveConsumption,
+        BigDecimal learnedConsumptionPerDay
 ) {}
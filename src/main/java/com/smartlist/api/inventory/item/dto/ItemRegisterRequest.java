@@ -34,5 +34,7 @@ public record ItemRegisterRequest(
     BigDecimal price,
 
     @Min(0)
-    Integer criticalQuantityDaysOverride
+    Integer criticalQuantityDaysOverride,
+
+    Boolean adaptiveConsumption
 ) {}
@@ -35,6 +35,8 @@ public record ItemUpdateRequest(
         @Min(0)
         Integer criticalQuantityDaysOverride,
 
-        Long categoryId
+        Long categoryId,
+
+        Boolean adaptiveConsumption
 ) {
 }
@@ -0,0 +1,13 @@
+package com.smartlist.api.inventory.item.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record StockAdjustmentItemRequest(
+        @NotNull(message = "Item é obrigatório")
+        Long itemId,
+
+        @NotNull(message = "Variação de quantidade é obrigatória")
+        BigDecimal delta
+) {}
@@ -0,0 +1,14 @@
+package com.smartlist.api.inventory.item.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StockAdjustmentRequest(
+        @NotEmpty(message = "Lista de ajustes não pode estar vazia")
+        @Size(max = 500, message = "Máximo de 500 ajustes por requisição")
+        @Valid
+        List<StockAdjustmentItemRequest> items
+) {}
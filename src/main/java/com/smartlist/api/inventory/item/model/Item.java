@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id_generator")
+    @SequenceGenerator(name = "item_id_generator", sequenceName = "item_item_id_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long itemId;
 
@@ -30,8 +31,8 @@ public class Item {
     @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_user"))
     private User user;
 
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "category_id", nullable = false, foreignKey = @ForeignKey(name = "fk_category"))
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", foreignKey = @ForeignKey(name = "fk_category"))
     private Category category;
 
     @Column(length = 150, nullable = false)
@@ -66,6 +67,24 @@ public class Item {
     @Column(name = "critical_quantity_days_override")
     private Integer criticalQuantityDaysOverride;
 
+    @Column(name = "critical_on")
+    private LocalDate criticalOn;
+
+    @Column(name = "adaptive_consumption", nullable = false)
+    private boolean adaptiveConsumption = false;
+
+    @Column(name = "learned_consumption_per_day", precision = 10, scale = 3)
+    private BigDecimal learnedConsumptionPerDay;
+
+    @Column(name = "consumption_samples", nullable = false)
+    private int consumptionSamples = 0;
+
+    @Column(name = "last_purchased_on")
+    private LocalDate lastPurchasedOn;
+
+    @Column(name = "stock_after_last_purchase", precision = 10, scale = 3)
+    private BigDecimal stockAfterLastPurchase;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -6,7 +6,10 @@ import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,20 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     Page<Item> findByUser(User user, Pageable pageable);
     List<Item> findByUser(User user);
     boolean existsByUserAndName(User user, String name);
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.category WHERE i.user = :user ORDER BY i.itemId")
+    List<Item> findAllWithCategoryByUser(@Param("user") User user);
+
+    @Query("""
+        SELECT DISTINCT i.user
+        FROM Item i
+        WHERE i.criticalOn <= :today
+        AND NOT EXISTS (
+            SELECT 1
+            FROM ShoppingListItem sli
+            WHERE sli.item = i
+            AND sli.shoppingList.active = true
+        )
+        """)
+    List<User> findUsersWithUnlistedCriticalItems(@Param("today") LocalDate today);
 }
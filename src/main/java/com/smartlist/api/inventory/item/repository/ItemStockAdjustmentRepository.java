@@ -0,0 +1,77 @@
+package com.smartlist.api.inventory.item.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class ItemStockAdjustmentRepository {
+
+    private static final String CRITICAL_DAYS = """
+            COALESCE(item.critical_quantity_days_override, (
+                SELECT u.critical_quantity_days FROM users u WHERE u.user_id = item.user_id
+            ))""";
+
+    private static final String NEW_QUANTITY = "(item.quantity + v.delta)";
+
+    private static final String DAYS_UNTIL_CRITICAL =
+            "CAST(CEIL(" + NEW_QUANTITY + " / item.avg_consumption_per_day) AS INTEGER) - " + CRITICAL_DAYS;
+
+    /*
+     * Mesma regra de InventoryService.calculateCriticalOn, com last_stock_update = :today.
+     * Itens de outro usuário ou que ficariam com estoque negativo não são atualizados.
+     */
+    private static final String ADJUST_STOCK = """
+            UPDATE item
+            SET quantity = %1$s,
+                last_stock_update = CAST(? AS DATE),
+                updated_at = CURRENT_TIMESTAMP,
+                critical_on = CASE
+                    WHEN %2$s IS NULL THEN NULL
+                    WHEN item.avg_consumption_per_day = 0 THEN
+                        CASE WHEN %1$s <= 0 THEN CAST(? AS DATE) END
+                    WHEN %3$s <= 0 THEN CAST(? AS DATE)
+                    ELSE CAST(? AS DATE) + (%3$s)
+                END
+            FROM (VALUES %4$s) AS v(item_id, delta)
+            WHERE item.item_id = v.item_id
+            AND item.user_id = ?
+            AND %1$s >= 0
+            """;
+
+    private static final String VALUES_ROW = "(CAST(? AS BIGINT), CAST(? AS NUMERIC(10, 3)))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ItemStockAdjustmentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int adjustStock(Long userId, Map<Long, BigDecimal> deltasByItemId, LocalDate today) {
+        String sql = ADJUST_STOCK.formatted(
+                NEW_QUANTITY,
+                CRITICAL_DAYS,
+                DAYS_UNTIL_CRITICAL,
+                String.join(", ", Collections.nCopies(deltasByItemId.size(), VALUES_ROW))
+        );
+
+        Date date = Date.valueOf(today);
+        List<Object> args = new ArrayList<>(List.of(date, date, date, date));
+
+        deltasByItemId.forEach((itemId, delta) -> {
+            args.add(itemId);
+            args.add(delta);
+        });
+
+        args.add(userId);
+
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+}
@@ -10,15 +10,20 @@ import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
 import com.smartlist.api.inventory.item.model.Item;
 import com.smartlist.api.inventory.item.repository.ItemRepository;
 import com.smartlist.api.inventory.service.InventoryApplicationService;
+import com.smartlist.api.inventory.snapshot.model.ItemSnapshot;
+import com.smartlist.api.inventory.snapshot.service.InventorySnapshotCache;
+import com.smartlist.api.shoppinglist.service.ShoppingListService;
 import com.smartlist.api.user.model.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -27,14 +32,28 @@ public class ItemService {
     private final ItemRepository itemRepository;
     private final CategoryRepository categoryRepository;
     private final InventoryApplicationService inventoryApplicationService;
-
-    public ItemService(ItemRepository itemRepository, CategoryRepository categoryRepository, InventoryApplicationService inventoryApplicationService) {
+    private final InventorySnapshotCache inventorySnapshotCache;
+    private final ShoppingListService shoppingListService;
+
+    public ItemService(
+            ItemRepository itemRepository,
+            CategoryRepository categoryRepository,
+            InventoryApplicationService inventoryApplicationService,
+            InventorySnapshotCache inventorySnapshotCache,
+            ShoppingListService shoppingListService
+    ) {
         this.itemRepository = itemRepository;
         this.categoryRepository = categoryRepository;
         this.inventoryApplicationService = inventoryApplicationService;
+        this.inventorySnapshotCache = inventorySnapshotCache;
+        this.shoppingListService = shoppingListService;
     }
 
     public Page<ItemListResponse> list(User user, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return listFromSnapshot(user, pageable);
+        }
+
         return itemRepository.findByUser(user, pageable)
                 .map(item -> new ItemListResponse(
                         item.getItemId(),
@@ -45,10 +64,45 @@ public class ItemService {
                         item.getAvgConsumptionValue(),
                         item.getAvgConsumptionUnit().name(),
                         item.getCategory().getCategoryId(),
-                        item.getCategory().getName()
+                        item.getCategory().getName(),
+                        item.isAdaptiveConsumption(),
+                        item.getLearnedConsumptionPerDay()
                 ));
     }
 
+    private Page<ItemListResponse> listFromSnapshot(User user, Pageable pageable) {
+        List<ItemSnapshot> items = inventorySnapshotCache.get(user).items();
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(items.stream().map(this::toListResponse).toList(), pageable, items.size());
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+
+        return new PageImpl<>(
+                items.subList(from, to).stream().map(this::toListResponse).toList(),
+                pageable,
+                items.size()
+        );
+    }
+
+    private ItemListResponse toListResponse(ItemSnapshot item) {
+        return new ItemListResponse(
+                item.itemId(),
+                item.name(),
+                item.quantity(),
+                item.unit().getLabel(),
+                item.price(),
+                item.avgConsumptionValue(),
+                item.avgConsumptionUnit().name(),
+                item.categoryId(),
+                item.categoryName(),
+                item.adaptiveConsumption(),
+                item.learnedConsumptionPerDay()
+        );
+    }
+
     public void register(ItemRegisterRequest dto, User user) {
         log.info("Cadastro de item iniciado. UserId={}, Name={}", user.getUserId(), dto.name());
 
@@ -82,6 +136,7 @@ public class ItemService {
         }
 
         item.setAvgConsumptionPerDay(convertToDailyAverage(dto.avgConsumptionValue(), item.getAvgConsumptionUnit()));
+        item.setAdaptiveConsumption(Boolean.TRUE.equals(dto.adaptiveConsumption()));
 
         if (dto.categoryId() != null) {
 
@@ -98,7 +153,10 @@ public class ItemService {
             item.setCategory(category);
         }
 
+        inventoryApplicationService.recalculateCriticalOn(item);
         itemRepository.save(item);
+        inventorySnapshotCache.invalidate(user);
+        inventoryApplicationService.onItemUpdated(item);
 
         log.info(
                 "Item cadastrado com sucesso. UserId={}, ItemId={}",
@@ -126,8 +184,11 @@ public class ItemService {
 
         validateConsumptionUnit(dto.avgConsumptionValue(), dto.avgConsumptionUnit());
 
+        boolean renamed = false;
+
         if (dto.name() != null && !dto.name().equals(item.getName())) {
             item.setName(dto.name());
+            renamed = true;
         }
 
         if (dto.quantity() != null && !dto.quantity().equals(item.getQuantity())) {
@@ -159,6 +220,14 @@ public class ItemService {
             item.setAvgConsumptionPerDay(convertToDailyAverage(item.getAvgConsumptionValue(), item.getAvgConsumptionUnit()));
         }
 
+        if (dto.adaptiveConsumption() != null) {
+            item.setAdaptiveConsumption(dto.adaptiveConsumption());
+        }
+
+        if (item.isAdaptiveConsumption() && item.getLearnedConsumptionPerDay() != null) {
+            item.setAvgConsumptionPerDay(item.getLearnedConsumptionPerDay());
+        }
+
         Integer override = dto.criticalQuantityDaysOverride();
         if (!Objects.equals(override, item.getCriticalQuantityDaysOverride())) {
             item.setCriticalQuantityDaysOverride(override);
@@ -175,9 +244,15 @@ public class ItemService {
             item.setCategory(null);
         }
 
+        inventoryApplicationService.recalculateCriticalOn(item);
         itemRepository.save(item);
+        inventorySnapshotCache.invalidate(user);
         inventoryApplicationService.onItemUpdated(item);
 
+        if (renamed) {
+            shoppingListService.onItemRenamed(item, user);
+        }
+
         log.info("Item atualizado com sucesso. UserId={}, ItemId={}", user.getUserId(), itemId);
     }
 
@@ -198,7 +273,9 @@ public class ItemService {
                     throw new BadRequestException("I1004", "Item inexistente");
                 });
 
+        shoppingListService.removeItemFromActiveShoppingList(item, user);
         itemRepository.delete(item);
+        inventorySnapshotCache.invalidate(user);
 
         log.info(
                 "Tentativa de exclusão de item iniciada. UserId={}, ItemId={}",
@@ -0,0 +1,51 @@
+package com.smartlist.api.inventory.recalculation.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inventory_recalculation_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryRecalculationCheckpoint {
+
+    @Id
+    @Column(name = "partition_index")
+    private Integer partitionIndex;
+
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "run_started_at", nullable = false)
+    private LocalDateTime runStartedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static InventoryRecalculationCheckpoint create(int partitionIndex, long rangeStart, long rangeEnd, LocalDateTime runStartedAt) {
+        InventoryRecalculationCheckpoint checkpoint = new InventoryRecalculationCheckpoint();
+        checkpoint.setPartitionIndex(partitionIndex);
+        checkpoint.setRangeStart(rangeStart);
+        checkpoint.setRangeEnd(rangeEnd);
+        checkpoint.setLastUserId(rangeStart - 1);
+        checkpoint.setCompleted(false);
+        checkpoint.setRunStartedAt(runStartedAt);
+        return checkpoint;
+    }
+}
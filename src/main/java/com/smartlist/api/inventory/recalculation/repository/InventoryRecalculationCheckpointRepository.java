@@ -0,0 +1,11 @@
+package com.smartlist.api.inventory.recalculation.repository;
+
+import com.smartlist.api.inventory.recalculation.model.InventoryRecalculationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface InventoryRecalculationCheckpointRepository extends JpaRepository<InventoryRecalculationCheckpoint, Integer> {
+    List<InventoryRecalculationCheckpoint> findAllByOrderByPartitionIndexAsc();
+    boolean existsByCompletedFalse();
+}
@@ -0,0 +1,292 @@
+package com.smartlist.api.inventory.recalculation.service;
+
+import com.smartlist.api.infra.config.InventoryRecalculationProperties;
+import com.smartlist.api.inventory.recalculation.model.InventoryRecalculationCheckpoint;
+import com.smartlist.api.inventory.recalculation.repository.InventoryRecalculationCheckpointRepository;
+import com.smartlist.api.inventory.service.InventoryApplicationService;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.user.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Recalcula o inventário de todos os usuários. Os usuários são divididos em faixas de id, cada faixa
+ * percorrida por uma virtual thread e cada usuário recalculado em sua própria virtual thread.
+ * Um semáforo limita as conexões simultâneas abaixo do pool do Hikari, e o checkpoint de cada faixa
+ * só avança até o menor usuário ainda em andamento, permitindo retomar a execução após uma queda.
+ * Desligado por padrão (cron "-"): a virada do dia é coberta pela varredura de critical_on em
+ * InventoryRefreshPipeline, e este job fica para recálculos completos agendados ou disparados à parte.
+ */
+@Slf4j
+@Component
+public class InventoryRecalculationJob {
+
+    private final InventoryApplicationService inventoryApplicationService;
+    private final UserRepository userRepository;
+    private final InventoryRecalculationCheckpointRepository checkpointRepository;
+    private final InventoryRecalculationProperties properties;
+
+    private final Semaphore dbPermits;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicInteger usersInFlight = new AtomicInteger();
+    private final AtomicInteger pendingPartitions = new AtomicInteger();
+
+    private final Counter processedUsers;
+    private final Counter failedUsers;
+    private final Timer userDuration;
+    private final Timer runDuration;
+
+    public InventoryRecalculationJob(
+            InventoryApplicationService inventoryApplicationService,
+            UserRepository userRepository,
+            InventoryRecalculationCheckpointRepository checkpointRepository,
+            InventoryRecalculationProperties properties,
+            DataSource dataSource,
+            MeterRegistry meterRegistry
+    ) {
+        this.inventoryApplicationService = inventoryApplicationService;
+        this.userRepository = userRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.dbPermits = new Semaphore(resolveMaxConcurrency(properties.getMaxConcurrency(), dataSource));
+
+        this.processedUsers = Counter.builder("inventory.recalculation.users")
+                .tag("result", "processed")
+                .register(meterRegistry);
+        this.failedUsers = Counter.builder("inventory.recalculation.users")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.userDuration = Timer.builder("inventory.recalculation.user.duration").register(meterRegistry);
+        this.runDuration = Timer.builder("inventory.recalculation.run.duration").register(meterRegistry);
+        meterRegistry.gauge("inventory.recalculation.users.in_flight", usersInFlight);
+        meterRegistry.gauge("inventory.recalculation.partitions.pending", pendingPartitions);
+    }
+
+    static int resolveMaxConcurrency(int configured, DataSource dataSource) {
+        int maxConcurrency = Math.max(configured, 1);
+
+        if (dataSource instanceof HikariDataSource hikari) {
+            int poolLimit = Math.max(hikari.getMaximumPoolSize() - 1, 1);
+
+            if (maxConcurrency > poolLimit) {
+                log.warn(
+                        "Concorrência do recálculo reduzida para caber no pool. Configurada={}, Pool={}, Usada={}",
+                        configured, hikari.getMaximumPoolSize(), poolLimit
+                );
+                maxConcurrency = poolLimit;
+            }
+        }
+
+        return maxConcurrency;
+    }
+
+    @Scheduled(cron = "${inventory.recalculation.cron:-}")
+    public void runNightly() {
+        start();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeAfterRestart() {
+        if (checkpointRepository.existsByCompletedFalse()) {
+            log.info("Recálculo de inventário interrompido encontrado. Retomando a partir dos checkpoints");
+            start();
+        }
+    }
+
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Recálculo de inventário já está em execução");
+            return false;
+        }
+
+        Thread.ofVirtual().name("inventory-recalculation").start(() -> {
+            try {
+                run();
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return true;
+    }
+
+    void run() {
+        long startedAt = System.nanoTime();
+        double processedBefore = processedUsers.count();
+        double failedBefore = failedUsers.count();
+        List<InventoryRecalculationCheckpoint> checkpoints = loadOrCreateCheckpoints();
+
+        List<InventoryRecalculationCheckpoint> pending = checkpoints.stream()
+                .filter(checkpoint -> !checkpoint.isCompleted())
+                .toList();
+
+        if (pending.isEmpty()) {
+            log.info("Recálculo de inventário sem usuários para processar");
+            return;
+        }
+
+        log.info("Recálculo de inventário iniciado. Particoes={}, ConcorrenciaMaxima={}", pending.size(), dbPermits.availablePermits());
+        pendingPartitions.set(pending.size());
+
+        try (
+                ExecutorService userExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                ExecutorService partitionExecutor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            pending.forEach(checkpoint -> partitionExecutor.submit(() -> processPartition(checkpoint, userExecutor)));
+        }
+
+        long elapsed = System.nanoTime() - startedAt;
+        runDuration.record(elapsed, TimeUnit.NANOSECONDS);
+
+        log.info(
+                "Recálculo de inventário finalizado. Processados={}, Falhas={}, DuracaoMs={}",
+                (long) (processedUsers.count() - processedBefore),
+                (long) (failedUsers.count() - failedBefore),
+                TimeUnit.NANOSECONDS.toMillis(elapsed)
+        );
+    }
+
+    private List<InventoryRecalculationCheckpoint> loadOrCreateCheckpoints() {
+        List<InventoryRecalculationCheckpoint> existing = checkpointRepository.findAllByOrderByPartitionIndexAsc();
+
+        if (existing.stream().anyMatch(checkpoint -> !checkpoint.isCompleted())) {
+            log.info("Retomando recálculo de inventário. IniciadoEm={}", existing.getFirst().getRunStartedAt());
+            return existing;
+        }
+
+        Long minUserId = userRepository.findMinUserId();
+        Long maxUserId = userRepository.findMaxUserId();
+
+        if (minUserId == null || maxUserId == null) {
+            return List.of();
+        }
+
+        int partitions = Math.max(properties.getPartitions(), 1);
+        long partitionSize = Math.ceilDiv(maxUserId - minUserId + 1, partitions);
+        LocalDateTime runStartedAt = LocalDateTime.now();
+
+        List<InventoryRecalculationCheckpoint> checkpoints = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            long rangeStart = minUserId + i * partitionSize;
+
+            if (rangeStart > maxUserId) {
+                break;
+            }
+
+            long rangeEnd = Math.min(rangeStart + partitionSize - 1, maxUserId);
+            checkpoints.add(InventoryRecalculationCheckpoint.create(i, rangeStart, rangeEnd, runStartedAt));
+        }
+
+        checkpointRepository.deleteAllInBatch();
+        return checkpointRepository.saveAll(checkpoints);
+    }
+
+    private void processPartition(InventoryRecalculationCheckpoint checkpoint, ExecutorService userExecutor) {
+        NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        List<Future<?>> futures = new ArrayList<>();
+        long cursor = checkpoint.getLastUserId();
+
+        try {
+            List<User> users;
+            while (!(users = nextUsers(checkpoint, cursor)).isEmpty()) {
+                for (User user : users) {
+                    dbPermits.acquire();
+                    inFlight.add(user.getUserId());
+                    futures.add(userExecutor.submit(() -> refreshUser(user, inFlight)));
+                    cursor = user.getUserId();
+                }
+
+                futures.removeIf(Future::isDone);
+
+                Long oldestInFlight = inFlight.ceiling(Long.MIN_VALUE);
+                saveCheckpoint(checkpoint, oldestInFlight == null ? cursor : oldestInFlight - 1, false);
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            saveCheckpoint(checkpoint, checkpoint.getRangeEnd(), true);
+            pendingPartitions.decrementAndGet();
+
+            log.info(
+                    "Partição do recálculo de inventário concluída. Particao={}, Inicio={}, Fim={}",
+                    checkpoint.getPartitionIndex(), checkpoint.getRangeStart(), checkpoint.getRangeEnd()
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Partição do recálculo de inventário interrompida. Particao={}", checkpoint.getPartitionIndex());
+        } catch (ExecutionException | RuntimeException e) {
+            log.error(
+                    "Falha na partição do recálculo de inventário. Particao={}, UltimoUserId={}",
+                    checkpoint.getPartitionIndex(), checkpoint.getLastUserId(), e
+            );
+        }
+    }
+
+    private List<User> nextUsers(InventoryRecalculationCheckpoint checkpoint, long cursor) throws InterruptedException {
+        return withDbPermit(() -> userRepository.findByUserIdGreaterThanAndUserIdLessThanEqualOrderByUserIdAsc(
+                cursor,
+                checkpoint.getRangeEnd(),
+                Limit.of(properties.getBatchSize())
+        ));
+    }
+
+    private void saveCheckpoint(InventoryRecalculationCheckpoint checkpoint, long lastUserId, boolean completed) throws InterruptedException {
+        checkpoint.setLastUserId(lastUserId);
+        checkpoint.setCompleted(completed);
+        withDbPermit(() -> checkpointRepository.save(checkpoint));
+    }
+
+    private void refreshUser(User user, NavigableSet<Long> inFlight) {
+        long startedAt = System.nanoTime();
+        usersInFlight.incrementAndGet();
+
+        try {
+            inventoryApplicationService.refreshInventory(user);
+            processedUsers.increment();
+        } catch (Exception e) {
+            failedUsers.increment();
+            log.error("Falha no recálculo de inventário do usuário. UserId={}", user.getUserId(), e);
+        } finally {
+            userDuration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            usersInFlight.decrementAndGet();
+            inFlight.remove(user.getUserId());
+            dbPermits.release();
+        }
+    }
+
+    private <T> T withDbPermit(Supplier<T> action) throws InterruptedException {
+        dbPermits.acquire();
+
+        try {
+            return action.get();
+        } finally {
+            dbPermits.release();
+        }
+    }
+}
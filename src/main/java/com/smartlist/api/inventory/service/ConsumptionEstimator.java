@@ -0,0 +1,93 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.infra.config.ConsumptionLearningProperties;
+import com.smartlist.api.inventory.item.model.Item;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Aprende o consumo diário a partir das compras. Cada compra guarda o estoque logo depois dela; na
+ * compra seguinte, o que sumiu desse estoque até agora, dividido pelos dias entre as duas, é a
+ * amostra combinada ao valor aprendido por média móvel exponencial. Deve ser chamado antes de somar
+ * a compra ao estoque. Só o estado guardado no Item é usado.
+ */
+@Slf4j
+@Component
+public class ConsumptionEstimator {
+
+    private static final int SCALE = 3;
+
+    private final ConsumptionLearningProperties properties;
+
+    public ConsumptionEstimator(ConsumptionLearningProperties properties) {
+        this.properties = properties;
+    }
+
+    public void recordPurchase(Item item, BigDecimal purchasedQuantity, LocalDate purchasedOn) {
+        LocalDate previousPurchase = item.getLastPurchasedOn();
+        BigDecimal stockAfterPreviousPurchase = item.getStockAfterLastPurchase();
+        BigDecimal stockAfterPurchase = item.getQuantity().add(purchasedQuantity);
+
+        long days = previousPurchase == null ? 0 : ChronoUnit.DAYS.between(previousPurchase, purchasedOn);
+
+        if (days > 0 && stockAfterPreviousPurchase != null) {
+            learn(item, stockAfterPreviousPurchase.subtract(item.getQuantity()), days);
+        }
+
+        /*
+         * Compras no mesmo dia não geram amostra: o estoque de referência passa a incluir as duas,
+         * e a quantidade entra na próxima amostra.
+         */
+        if (previousPurchase == null || days > 0) {
+            item.setLastPurchasedOn(purchasedOn);
+        }
+
+        item.setStockAfterLastPurchase(stockAfterPurchase);
+    }
+
+    private void learn(Item item, BigDecimal consumed, long days) {
+        if (consumed.signum() <= 0) {
+            log.debug(
+                    "Compra sem consumo registrado desde a anterior. ItemId={}, Consumido={}",
+                    item.getItemId(),
+                    consumed
+            );
+            return;
+        }
+
+        BigDecimal sample = consumed.divide(BigDecimal.valueOf(days), SCALE, RoundingMode.HALF_UP);
+        BigDecimal learned = blend(item.getLearnedConsumptionPerDay(), sample);
+
+        item.setLearnedConsumptionPerDay(learned);
+        item.setConsumptionSamples(item.getConsumptionSamples() + 1);
+
+        if (item.isAdaptiveConsumption()) {
+            item.setAvgConsumptionPerDay(learned);
+        }
+
+        log.debug(
+                "Consumo aprendido atualizado. ItemId={}, Amostra={}, Aprendido={}, Amostras={}",
+                item.getItemId(),
+                sample,
+                learned,
+                item.getConsumptionSamples()
+        );
+    }
+
+    private BigDecimal blend(BigDecimal current, BigDecimal sample) {
+        if (current == null) {
+            return sample;
+        }
+
+        BigDecimal alpha = properties.getAlpha();
+
+        return alpha.multiply(sample)
+                .add(BigDecimal.ONE.subtract(alpha).multiply(current))
+                .setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,48 @@
+package com.smartlist.api.inventory.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Versão sem alocação de {@link InventoryService#calculateVirtualStock} e {@link InventoryService#isCritical}.
+ * Quantidades são {@code long} na escala das colunas NUMERIC(10, 3): 1,5 kg é representado como 1500.
+ * Os valores devem ser não negativos, como garantido pelas validações de ItemService.
+ */
+public final class FixedPointInventoryEvaluator {
+
+    public static final int SCALE = 3;
+
+    private FixedPointInventoryEvaluator() {}
+
+    public static long toScaled(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromScaled(long value) {
+        return BigDecimal.valueOf(value, SCALE);
+    }
+
+    public static long virtualStock(long quantity, long avgConsumptionPerDay, long daysSinceLastUpdate) {
+        long consumed = saturatedMultiply(avgConsumptionPerDay, Math.max(daysSinceLastUpdate, 0));
+        return consumed >= quantity ? 0 : quantity - consumed;
+    }
+
+    public static boolean isCritical(long virtualStock, long avgConsumptionPerDay, long criticalDays) {
+        return virtualStock <= saturatedMultiply(avgConsumptionPerDay, criticalDays);
+    }
+
+    public static boolean isCritical(long quantity, long avgConsumptionPerDay, long daysSinceLastUpdate, long criticalDays) {
+        return isCritical(virtualStock(quantity, avgConsumptionPerDay, daysSinceLastUpdate), avgConsumptionPerDay, criticalDays);
+    }
+
+    private static long saturatedMultiply(long value, long factor) {
+        long high = Math.multiplyHigh(value, factor);
+        long low = value * factor;
+
+        if (high != (low >> 63)) {
+            return high < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+
+        return low;
+    }
+}
@@ -1,39 +1,67 @@
 package com.smartlist.api.inventory.service;
 
 import com.smartlist.api.exceptions.BadRequestException;
+import com.smartlist.api.inventory.event.InventoryChangedEvent;
 import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.inventory.item.dto.StockAdjustmentItemRequest;
 import com.smartlist.api.inventory.item.repository.ItemRepository;
+import com.smartlist.api.inventory.item.repository.ItemStockAdjustmentRepository;
+import com.smartlist.api.inventory.snapshot.service.InventorySnapshotCache;
 import com.smartlist.api.user.model.User;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Slf4j
 public class InventoryApplicationService {
 
     private final ItemRepository itemRepository;
+    private final ItemStockAdjustmentRepository itemStockAdjustmentRepository;
     private final InventoryService inventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InventorySnapshotCache inventorySnapshotCache;
+    private final ConsumptionEstimator consumptionEstimator;
 
-    public InventoryApplicationService(ItemRepository itemRepository, InventoryService inventoryService) {
+    public InventoryApplicationService(
+            ItemRepository itemRepository,
+            ItemStockAdjustmentRepository itemStockAdjustmentRepository,
+            InventoryService inventoryService,
+            ApplicationEventPublisher eventPublisher,
+            InventorySnapshotCache inventorySnapshotCache,
+            ConsumptionEstimator consumptionEstimator
+    ) {
         this.itemRepository = itemRepository;
+        this.itemStockAdjustmentRepository = itemStockAdjustmentRepository;
         this.inventoryService = inventoryService;
+        this.eventPublisher = eventPublisher;
+        this.inventorySnapshotCache = inventorySnapshotCache;
+        this.consumptionEstimator = consumptionEstimator;
     }
 
     public void onItemUpdated(Item item) {
-        inventoryService.processItem(item);
+        eventPublisher.publishEvent(new InventoryChangedEvent(item.getUser()));
+    }
+
+    public void recalculateCriticalOn(Item item) {
+        item.setCriticalOn(inventoryService.calculateCriticalOn(item));
     }
 
     public void refreshInventory(User user) {
         log.info("Atualização completa de inventário iniciada. UserId={}", user.getUserId());
 
-        List<Item> items = itemRepository.findByUser(user);
-        items.forEach(inventoryService::processItem);
+        int added = inventoryService.processAllItems(user);
 
-        log.info("Atualização completa de inventário finalizada. UserId={}", user.getUserId());
+        log.info("Atualização completa de inventário finalizada. UserId={}, ItensAdicionados={}", user.getUserId(), added);
     }
 
     public void addStock(User user, Item item, BigDecimal quantity) {
@@ -44,7 +72,36 @@ public class InventoryApplicationService {
                 quantity
         );
 
-        if (!item.getUser().equals(user)) {
+        applyStockAddition(user, item, quantity, LocalDate.now());
+
+        itemRepository.save(item);
+        inventorySnapshotCache.invalidate(user);
+        eventPublisher.publishEvent(new InventoryChangedEvent(user));
+
+        log.info("Estoque atualizado com sucesso. ItemId={}", item.getItemId());
+    }
+
+    @Transactional
+    public void addStock(User user, List<StockAddition> additions) {
+        log.info("Adição de estoque em lote iniciada. UserId={}, Itens={}", user.getUserId(), additions.size());
+
+        LocalDate today = LocalDate.now();
+        List<Item> items = new ArrayList<>(additions.size());
+
+        for (StockAddition addition : additions) {
+            applyStockAddition(user, addition.item(), addition.quantity(), today);
+            items.add(addition.item());
+        }
+
+        itemRepository.saveAll(items);
+        inventorySnapshotCache.invalidate(user);
+        eventPublisher.publishEvent(new InventoryChangedEvent(user));
+
+        log.info("Adição de estoque em lote finalizada. UserId={}, ItensAtualizados={}", user.getUserId(), items.size());
+    }
+
+    private void applyStockAddition(User user, Item item, BigDecimal quantity, LocalDate today) {
+        if (!Objects.equals(item.getUser().getUserId(), user.getUserId())) {
             throw new BadRequestException("IA2002", "Acesso indevido ao item");
         }
 
@@ -52,12 +109,43 @@ public class InventoryApplicationService {
             throw new BadRequestException("IA2001", "Quantidade deve ser maior que zero");
         }
 
+        consumptionEstimator.recordPurchase(item, quantity, today);
         item.setQuantity(item.getQuantity().add(quantity));
-        item.setLastStockUpdate(LocalDate.now());
+        item.setLastStockUpdate(today);
+        recalculateCriticalOn(item);
+    }
 
-        itemRepository.save(item);
-        inventoryService.processItem(item);
+    @Transactional
+    public int adjustStock(User user, List<StockAdjustmentItemRequest> adjustments) {
+        log.info("Ajuste de estoque em lote iniciado. UserId={}, Itens={}", user.getUserId(), adjustments.size());
 
-        log.info("Estoque atualizado com sucesso. ItemId={}", item.getItemId());
+        Map<Long, BigDecimal> deltasByItemId = new LinkedHashMap<>();
+
+        for (StockAdjustmentItemRequest adjustment : adjustments) {
+            deltasByItemId.merge(adjustment.itemId(), adjustment.delta(), BigDecimal::add);
+        }
+
+        if (deltasByItemId.values().stream().anyMatch(delta -> delta.signum() == 0)) {
+            throw new BadRequestException("IA2003", "Variação de quantidade deve ser diferente de zero");
+        }
+
+        int updated = itemStockAdjustmentRepository.adjustStock(user.getUserId(), deltasByItemId, LocalDate.now());
+
+        if (updated != deltasByItemId.size()) {
+            log.warn(
+                    "Ajuste de estoque em lote rejeitado. UserId={}, Solicitados={}, Atualizados={}",
+                    user.getUserId(),
+                    deltasByItemId.size(),
+                    updated
+            );
+            throw new BadRequestException("IA2004", "Item inexistente ou ajuste deixaria o estoque negativo");
+        }
+
+        inventorySnapshotCache.invalidate(user);
+        eventPublisher.publishEvent(new InventoryChangedEvent(user));
+
+        log.info("Ajuste de estoque em lote finalizado. UserId={}, ItensAtualizados={}", user.getUserId(), updated);
+
+        return updated;
     }
 }
@@ -0,0 +1,70 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.event.InventoryChangedEvent;
+import com.smartlist.api.inventory.item.repository.ItemRepository;
+import com.smartlist.api.user.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class InventoryRefreshPipeline {
+
+    private final InventoryApplicationService inventoryApplicationService;
+    private final ItemRepository itemRepository;
+    private final TaskExecutor taskExecutor;
+    private final Set<Long> pendingUsers = ConcurrentHashMap.newKeySet();
+
+    public InventoryRefreshPipeline(
+            InventoryApplicationService inventoryApplicationService,
+            ItemRepository itemRepository,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor
+    ) {
+        this.inventoryApplicationService = inventoryApplicationService;
+        this.itemRepository = itemRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        schedule(event.user());
+    }
+
+    @Scheduled(cron = "${inventory.refresh.cron:0 0 0 * * *}")
+    public void refreshAllOnDayRollover() {
+        log.info("Varredura diária de itens críticos iniciada");
+
+        List<User> users = itemRepository.findUsersWithUnlistedCriticalItems(LocalDate.now());
+        users.forEach(this::schedule);
+
+        log.info("Varredura diária de itens críticos finalizada. Usuarios={}", users.size());
+    }
+
+    void schedule(User user) {
+        if (!pendingUsers.add(user.getUserId())) {
+            log.debug("Recálculo de inventário já pendente. UserId={}", user.getUserId());
+            return;
+        }
+
+        taskExecutor.execute(() -> refresh(user));
+    }
+
+    private void refresh(User user) {
+        pendingUsers.remove(user.getUserId());
+
+        try {
+            inventoryApplicationService.refreshInventory(user);
+        } catch (Exception e) {
+            log.error("Falha no recálculo de inventário em segundo plano. UserId={}", user.getUserId(), e);
+        }
+    }
+}
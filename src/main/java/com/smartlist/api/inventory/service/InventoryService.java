@@ -2,6 +2,7 @@ package com.smartlist.api.inventory.service;
 
 import com.smartlist.api.inventory.item.model.Item;
 import com.smartlist.api.shoppinglist.service.ShoppingListService;
+import com.smartlist.api.user.model.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -29,13 +30,19 @@ public class InventoryService {
         }
 
         long days = ChronoUnit.DAYS.between(item.getLastStockUpdate(), LocalDate.now());
-        days = Math.max(days, 0);
 
-        BigDecimal virtualStock = item.getQuantity().subtract(
-                item.getAvgConsumptionPerDay().multiply(BigDecimal.valueOf(days))
+        long virtualStock = FixedPointInventoryEvaluator.virtualStock(
+                FixedPointInventoryEvaluator.toScaled(item.getQuantity()),
+                FixedPointInventoryEvaluator.toScaled(item.getAvgConsumptionPerDay()),
+                days
         );
 
-        return virtualStock.max(BigDecimal.ZERO);
+        /*
+         * Devolve na mesma escala da conta em BigDecimal (a maior entre quantidade e consumo),
+         * para quem compara com equals não perceber a troca de implementação.
+         */
+        return FixedPointInventoryEvaluator.fromScaled(virtualStock)
+                .setScale(Math.max(item.getQuantity().scale(), item.getAvgConsumptionPerDay().scale()));
     }
 
     private long resolveCriticalDays(Item item) {
@@ -44,11 +51,38 @@ public class InventoryService {
                 : item.getUser().getCriticalQuantityDays();
     }
 
-    public boolean isCritical(Item item, BigDecimal virtualStock) {
-        long criticalDays = resolveCriticalDays(item);
-        BigDecimal criticalLimit = item.getAvgConsumptionPerDay().multiply(BigDecimal.valueOf(criticalDays));
+    public LocalDate calculateCriticalOn(Item item) {
+        Integer criticalDays = item.getCriticalQuantityDaysOverride() != null
+                ? item.getCriticalQuantityDaysOverride()
+                : item.getUser().getCriticalQuantityDays();
+
+        if (criticalDays == null) {
+            return null;
+        }
+
+        long quantity = FixedPointInventoryEvaluator.toScaled(item.getQuantity());
+        long avgPerDay = FixedPointInventoryEvaluator.toScaled(item.getAvgConsumptionPerDay());
+        LocalDate today = LocalDate.now();
+
+        if (item.getLastStockUpdate() == null || avgPerDay == 0) {
+            return FixedPointInventoryEvaluator.isCritical(quantity, avgPerDay, criticalDays) ? today : null;
+        }
+
+        long daysUntilCritical = Math.ceilDiv(quantity, avgPerDay) - criticalDays;
 
-        return virtualStock.compareTo(criticalLimit) <= 0;
+        if (daysUntilCritical <= 0) {
+            return item.getLastStockUpdate().isBefore(today) ? item.getLastStockUpdate() : today;
+        }
+
+        return item.getLastStockUpdate().plusDays(daysUntilCritical);
+    }
+
+    public boolean isCritical(Item item, BigDecimal virtualStock) {
+        return FixedPointInventoryEvaluator.isCritical(
+                FixedPointInventoryEvaluator.toScaled(virtualStock),
+                FixedPointInventoryEvaluator.toScaled(item.getAvgConsumptionPerDay()),
+                resolveCriticalDays(item)
+        );
     }
 
     public void processItem(Item item) {
@@ -59,4 +93,9 @@ public class InventoryService {
             shoppingListService.addItemToShoppingList(item, item.getUser());
         }
     }
+
+    public int processAllItems(User user) {
+        log.debug("Processando todos os itens em lote. UserId={}", user.getUserId());
+        return shoppingListService.addCriticalItemsToShoppingList(user, LocalDate.now());
+    }
 }
@@ -0,0 +1,7 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.item.model.Item;
+
+import java.math.BigDecimal;
+
+public record StockAddition(Item item, BigDecimal quantity) {}
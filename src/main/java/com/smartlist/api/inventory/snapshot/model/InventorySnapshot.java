@@ -0,0 +1,23 @@
+package com.smartlist.api.inventory.snapshot.model;
+
+import java.util.List;
+
+public record InventorySnapshot(Long userId, List<ItemSnapshot> items, int estimatedBytes) {
+
+    private static final int SNAPSHOT_OVERHEAD_BYTES = 96;
+    private static final int ITEM_OVERHEAD_BYTES = 360;
+
+    public static InventorySnapshot of(Long userId, List<ItemSnapshot> items) {
+        long bytes = SNAPSHOT_OVERHEAD_BYTES;
+
+        for (ItemSnapshot item : items) {
+            bytes += ITEM_OVERHEAD_BYTES + 2L * length(item.name()) + 2L * length(item.categoryName());
+        }
+
+        return new InventorySnapshot(userId, List.copyOf(items), (int) Math.min(bytes, Integer.MAX_VALUE));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartlist.api.inventory.snapshot.model;
+
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ItemSnapshot(
+        Long itemId,
+        String name,
+        BigDecimal quantity,
+        UnitOfMeasure unit,
+        BigDecimal price,
+        BigDecimal avgConsumptionValue,
+        AverageConsumptionUnit avgConsumptionUnit,
+        BigDecimal avgConsumptionPerDay,
+        LocalDate lastStockUpdate,
+        Integer criticalQuantityDaysOverride,
+        LocalDate criticalOn,
+        Long categoryId,
+        String categoryName,
+        boolean adaptiveConsumption,
+        BigDecimal learnedConsumptionPerDay
+) {
+    public static ItemSnapshot from(Item item) {
+        return new ItemSnapshot(
+                item.getItemId(),
+                item.getName(),
+                item.getQuantity(),
+                item.getUnit(),
+                item.getPrice(),
+                item.getAvgConsumptionValue(),
+                item.getAvgConsumptionUnit(),
+                item.getAvgConsumptionPerDay(),
+                item.getLastStockUpdate(),
+                item.getCriticalQuantityDaysOverride(),
+                item.getCriticalOn(),
+                item.getCategory() != null ? item.getCategory().getCategoryId() : null,
+                item.getCategory() != null ? item.getCategory().getName() : null,
+                item.isAdaptiveConsumption(),
+                item.getLearnedConsumptionPerDay()
+        );
+    }
+}
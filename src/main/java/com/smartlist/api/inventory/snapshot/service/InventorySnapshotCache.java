@@ -0,0 +1,81 @@
+package com.smartlist.api.inventory.snapshot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartlist.api.infra.config.InventorySnapshotCacheProperties;
+import com.smartlist.api.inventory.item.repository.ItemRepository;
+import com.smartlist.api.inventory.snapshot.model.InventorySnapshot;
+import com.smartlist.api.inventory.snapshot.model.ItemSnapshot;
+import com.smartlist.api.user.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Snapshots imutáveis do inventário de cada usuário. O limite é por memória estimada e não por
+ * quantidade de usuários. Dentro de uma transação a invalidação é repetida ao final dela, para que
+ * uma leitura concorrente não guarde o estado anterior ao commit.
+ */
+@Slf4j
+@Component
+public class InventorySnapshotCache {
+
+    private final ItemRepository itemRepository;
+    private final Cache<Long, InventorySnapshot> cache;
+
+    public InventorySnapshotCache(
+            ItemRepository itemRepository,
+            InventorySnapshotCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.itemRepository = itemRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(properties.getMaxMemory().toBytes())
+                .weigher((Long userId, InventorySnapshot snapshot) -> snapshot.estimatedBytes())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "inventory.snapshot");
+    }
+
+    public InventorySnapshot get(User user) {
+        return cache.get(user.getUserId(), userId -> load(user));
+    }
+
+    public void invalidate(User user) {
+        Long userId = user.getUserId();
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private InventorySnapshot load(User user) {
+        log.debug("Carregando snapshot do inventário. UserId={}", user.getUserId());
+
+        return InventorySnapshot.of(
+                user.getUserId(),
+                itemRepository.findAllWithCategoryByUser(user).stream()
+                        .map(ItemSnapshot::from)
+                        .toList()
+        );
+    }
+}
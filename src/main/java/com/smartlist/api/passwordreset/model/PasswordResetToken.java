@@ -18,7 +18,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class PasswordResetToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_token_id_generator")
+    @SequenceGenerator(name = "password_reset_token_id_generator", sequenceName = "password_reset_token_password_reset_token_id_seq", allocationSize = 50)
     @Column(name = "password_reset_token_id")
     private Long passwordResetTokenId;
 
@@ -5,6 +5,8 @@ import com.smartlist.api.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -12,8 +14,6 @@ import java.time.Instant;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     Optional<PasswordResetToken> findByToken(UUID token);
-    long countByEmailAndCreatedAtAfter(String email, Instant createdAfter);
-    long countByRequestIpAndCreatedAtAfter(String requestIp, Instant createdAfter);
 
     @Modifying
     @Query("""
@@ -23,4 +23,33 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
             AND prt.status = PasswordResetTokenStatus.PENDING
     """)
     void expireAllPendingByUser(User user);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE password_reset_token
+            SET status = 'EXPIRED'
+            WHERE password_reset_token_id IN (
+                SELECT password_reset_token_id
+                FROM password_reset_token
+                WHERE status = 'PENDING'
+                AND expires_at < :now
+                LIMIT :limit
+            )
+    """, nativeQuery = true)
+    int expirePendingBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM password_reset_token
+            WHERE password_reset_token_id IN (
+                SELECT password_reset_token_id
+                FROM password_reset_token
+                WHERE status <> 'PENDING'
+                AND expires_at < :cutoff
+                LIMIT :limit
+            )
+    """, nativeQuery = true)
+    int deleteFinishedBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
@@ -2,6 +2,10 @@ package com.smartlist.api.passwordreset.service;
 
 import com.smartlist.api.infra.config.PasswordResetProperties;
 import com.smartlist.api.infra.config.RateLimitProperties;
+import com.smartlist.api.infra.ratelimit.RateLimitKey;
+import com.smartlist.api.infra.ratelimit.RateLimiter;
+import com.smartlist.api.infra.security.PasswordHasher;
+import com.smartlist.api.infra.security.PrincipalCache;
 import com.smartlist.api.notification.email.service.EmailService;
 import com.smartlist.api.exceptions.BadRequestException;
 import com.smartlist.api.passwordreset.dto.PasswordExchangeRequest;
@@ -15,11 +19,12 @@ import com.smartlist.api.user.service.PasswordStrengthService;
 import com.smartlist.api.user.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.validator.routines.InetAddressValidator;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.UUID;
 
 @Slf4j
@@ -29,22 +34,26 @@ public class PasswordResetService {
     private final UserService userService;
     private final EmailService emailService;
     private final PasswordStrengthService passwordStrengthService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final RateLimiter rateLimiter;
 
     private final long tokenExpirationSeconds; // 10 min
     private final String passwordResetLink;
     private final int maxRequestsPerEmail;
     private final int maxRequestsPerIp;
-    private final int rateLimitDurationSeconds;
+    private final Duration rateLimitWindow;
 
     public PasswordResetService(
             PasswordResetTokenRepository passwordResetTokenRepository,
             UserService userService,
             EmailService emailService,
             PasswordStrengthService passwordStrengthService,
-            PasswordEncoder passwordEncoder,
+            PasswordHasher passwordHasher,
             UserRepository userRepository,
+            PrincipalCache principalCache,
+            RateLimiter rateLimiter,
             PasswordResetProperties passwordResetProperties,
             RateLimitProperties rateLimitProperties
     ) {
@@ -52,13 +61,15 @@ public class PasswordResetService {
         this.userService = userService;
         this.emailService = emailService;
         this.passwordStrengthService = passwordStrengthService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.rateLimiter = rateLimiter;
         this.tokenExpirationSeconds = passwordResetProperties.getExpirationSeconds();
         this.passwordResetLink = passwordResetProperties.getLink();
         this.maxRequestsPerEmail = rateLimitProperties.getEmail();
         this.maxRequestsPerIp = rateLimitProperties.getIp();
-        this.rateLimitDurationSeconds = rateLimitProperties.getDuration();
+        this.rateLimitWindow = Duration.ofSeconds(rateLimitProperties.getDuration());
     }
 
     public void requestPasswordReset(PasswordResetRequest dto) {
@@ -86,19 +97,17 @@ public class PasswordResetService {
 
     private void validateRequestRateLimit(String email, String requestIp) {
         log.debug("Validando rate limit para email: {} e IP: {}", email, requestIp);
-        Instant now = Instant.now();
-        Instant windowStart = now.minusSeconds(rateLimitDurationSeconds);
+        String emailKey = RateLimitKey.of("password-reset:email", email.trim().toLowerCase(Locale.ROOT));
 
-        long emailCount = passwordResetTokenRepository.countByEmailAndCreatedAtAfter(email, windowStart);
-        if (emailCount >= maxRequestsPerEmail) {
-            log.warn("Rate limit excedido para email: {}. Requisições recentes: {}", email, emailCount);
+        if (!rateLimiter.tryAcquire(emailKey, maxRequestsPerEmail, rateLimitWindow).allowed()) {
+            log.warn("Rate limit excedido para email: {}", email);
             throw new BadRequestException("P3001", "Muitas requisições de redefinição de senha com esse e-mail. Tente novamente em alguns minutos.");
         }
 
-        validateRequestIp(requestIp, windowStart);
+        validateRequestIp(requestIp);
     }
 
-    private void validateRequestIp(String requestIp, Instant windowStart) {
+    private void validateRequestIp(String requestIp) {
         log.debug("Validando IP de origem: {}", requestIp);
 
         InetAddressValidator ipValidator = InetAddressValidator.getInstance();
@@ -108,9 +117,8 @@ public class PasswordResetService {
             throw new BadRequestException("P3002", "Ip de origem inválido");
         }
 
-        long ipCount = passwordResetTokenRepository.countByRequestIpAndCreatedAtAfter(requestIp, windowStart);
-        if (ipCount >= maxRequestsPerIp) {
-            log.warn("Rate limit excedido para IP: {}. Requisições recentes: {}", requestIp, ipCount);
+        if (!rateLimiter.tryAcquire(RateLimitKey.of("password-reset:ip", requestIp), maxRequestsPerIp, rateLimitWindow).allowed()) {
+            log.warn("Rate limit excedido para IP: {}", requestIp);
             throw new BadRequestException("P3003", "Muitas requisições de redefinição de senha com esse IP. Tente novamente em alguns minutos.");
         }
     }
@@ -149,8 +157,6 @@ public class PasswordResetService {
 
         if (resetToken.getExpiresAt().isBefore(Instant.now())) {
             log.warn("Token de redefinição expirado.");
-            resetToken.setStatus(PasswordResetTokenStatus.EXPIRED);
-            passwordResetTokenRepository.save(resetToken);
             throw new BadRequestException("P3005", "Token expirado");
         }
 
@@ -178,8 +184,10 @@ public class PasswordResetService {
         log.debug("Validando força da nova senha para o usuário ID: {}", user.getUserId());
         passwordStrengthService.validatePasswordStrength(dto.newPassword());
 
-        user.setPassword(passwordEncoder.encode(dto.newPassword()));
+        user.setPassword(passwordHasher.encode(dto.newPassword()));
+        user.setCredentialsVersion(user.getCredentialsVersion() + 1);
         userRepository.save(user);
+        principalCache.invalidate(user.getUserId());
 
         resetToken.setStatus(PasswordResetTokenStatus.USED);
         passwordResetTokenRepository.save(resetToken);
@@ -25,8 +25,8 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(unique = true)
-    private String token;
+    @Column(name = "token_digest", nullable = false, length = 32)
+    private byte[] tokenDigest;
 
     @CreationTimestamp
     @Column(name = "created_at")
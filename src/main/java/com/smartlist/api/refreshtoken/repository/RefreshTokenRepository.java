@@ -6,13 +6,29 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.Instant;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
-    Optional<RefreshToken> findByToken(String token);
-
     @Modifying
     @Query("UPDATE RefreshToken rt SET rt.used = true WHERE rt.user = :user")
     void invalidateAllByUser(@Param("user") User user);
+
+    /*
+     * Um lote por chamada, na sua própria transação. Tokens usados só saem depois de expirar,
+     * porque até lá ainda servem para detectar reutilização.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+       DELETE FROM refresh_token
+       WHERE refresh_token_id IN (
+           SELECT refresh_token_id
+           FROM refresh_token
+           WHERE expires_at < :cutoff
+           LIMIT :limit
+       )
+       """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
@@ -0,0 +1,26 @@
+package com.smartlist.api.refreshtoken.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 do refresh token. O banco guarda só o digest; a comparação é feita em tempo constante.
+ */
+public final class RefreshTokenDigest {
+
+    private RefreshTokenDigest() {
+    }
+
+    public static byte[] of(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    public static boolean matches(byte[] digest, String token) {
+        return digest != null && MessageDigest.isEqual(digest, of(token));
+    }
+}
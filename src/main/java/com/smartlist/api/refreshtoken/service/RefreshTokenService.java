@@ -1,9 +1,9 @@
 package com.smartlist.api.refreshtoken.service;
 
+import com.smartlist.api.infra.security.VerifiedToken;
 import com.smartlist.api.refreshtoken.model.RefreshToken;
 import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
 import com.smartlist.api.user.model.User;
-import io.jsonwebtoken.Claims;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
 
@@ -15,19 +15,24 @@ public class RefreshTokenService {
         this.refreshTokenRepository = refreshTokenRepository;
     }
 
-    public void saveToken(String token, Claims claims, User user) {
+    public void saveToken(String token, VerifiedToken verified, User user) {
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setRefreshTokenId(claims.getId());
-        refreshToken.setToken(token);
+        refreshToken.setRefreshTokenId(verified.tokenId());
+        refreshToken.setTokenDigest(RefreshTokenDigest.of(token));
         refreshToken.setUser(user);
         refreshToken.setUsed(false);
-        refreshToken.setExpiresAt(claims.getExpiration().toInstant());
+        refreshToken.setExpiresAt(verified.expiresAt());
 
         refreshTokenRepository.save(refreshToken);
     }
 
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    public Optional<RefreshToken> findByToken(VerifiedToken verified, String token) {
+        if (verified.tokenId() == null) {
+            return Optional.empty();
+        }
+
+        return refreshTokenRepository.findById(verified.tokenId())
+                .filter(stored -> RefreshTokenDigest.matches(stored.getTokenDigest(), token));
     }
 
     public void markAsUsed(RefreshToken token) {
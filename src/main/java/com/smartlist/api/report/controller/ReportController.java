@@ -0,0 +1,39 @@
+package com.smartlist.api.report.controller;
+
+import com.smartlist.api.report.dto.MonthlySpendingResponse;
+import com.smartlist.api.report.service.SpendingReportService;
+import com.smartlist.api.shared.dto.ApiResponse;
+import com.smartlist.api.userdetails.UserDetailsImpl;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+    private final SpendingReportService spendingReportService;
+
+    public ReportController(SpendingReportService spendingReportService) {
+        this.spendingReportService = spendingReportService;
+    }
+
+    @GetMapping("/spending")
+    public ResponseEntity<ApiResponse<List<MonthlySpendingResponse>>> getMonthlySpending(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to
+    ) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+
+        List<MonthlySpendingResponse> response = spendingReportService.getMonthlySpending(userDetails.getUserReference(), start, end);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Relatório de gastos obtido com sucesso.", response));
+    }
+}
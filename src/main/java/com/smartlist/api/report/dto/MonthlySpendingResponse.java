@@ -0,0 +1,13 @@
+package com.smartlist.api.report.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record MonthlySpendingResponse(
+        LocalDate month,
+        Long categoryId,
+        String categoryName,
+        BigDecimal totalSpent,
+        long itemCount
+) {
+}
@@ -0,0 +1,31 @@
+package com.smartlist.api.report.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "spending_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingRollup {
+
+    @EmbeddedId
+    private SpendingRollupId id;
+
+    @Column(name = "total_spent", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalSpent;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
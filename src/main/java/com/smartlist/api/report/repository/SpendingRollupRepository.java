@@ -0,0 +1,104 @@
+package com.smartlist.api.report.repository;
+
+import com.smartlist.api.report.dto.MonthlySpendingResponse;
+import com.smartlist.api.report.model.SpendingRollup;
+import com.smartlist.api.report.model.SpendingRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SpendingRollupRepository extends JpaRepository<SpendingRollup, SpendingRollupId> {
+
+    @Query("""
+       SELECT new com.smartlist.api.report.dto.MonthlySpendingResponse(
+           r.id.month,
+           NULLIF(r.id.categoryId, 0),
+           c.name,
+           r.totalSpent,
+           r.itemCount
+       )
+       FROM SpendingRollup r
+       LEFT JOIN Category c ON c.categoryId = r.id.categoryId
+       WHERE r.id.userId = :userId
+       AND r.id.month BETWEEN :from AND :to
+       ORDER BY r.id.month, r.id.categoryId
+       """)
+    List<MonthlySpendingResponse> findMonthlySpending(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /*
+     * Cria com zero as linhas (usuário, mês, categoria) que a lista vai tocar; o incremento fica em
+     * addShoppingList, que pode então contar com a linha existente e travá-la no UPDATE.
+     * category_id faz parte da chave, então itens sem categoria são agrupados na categoria 0.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+       INSERT INTO spending_rollup (user_id, reference_month, category_id, total_spent, item_count, updated_at)
+       SELECT DISTINCT CAST(:userId AS BIGINT), CAST(:month AS DATE), COALESCE(i.category_id, 0), 0, 0, CURRENT_TIMESTAMP
+       FROM shopping_list_item sli
+       JOIN item i ON i.item_id = sli.item_id
+       WHERE sli.shopping_list_id = :shoppingListId
+       AND sli.purchased_quantity > 0
+       ON CONFLICT DO NOTHING
+       """, nativeQuery = true)
+    int insertMissingRollups(
+            @Param("userId") Long userId,
+            @Param("month") LocalDate month,
+            @Param("shoppingListId") Long shoppingListId
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+       UPDATE spending_rollup
+       SET total_spent = spending_rollup.total_spent + d.total_spent,
+           item_count = spending_rollup.item_count + d.item_count,
+           updated_at = CURRENT_TIMESTAMP
+       FROM (
+           SELECT COALESCE(i.category_id, 0) AS category_id, SUM(sli.subtotal) AS total_spent, COUNT(*) AS item_count
+           FROM shopping_list_item sli
+           JOIN item i ON i.item_id = sli.item_id
+           WHERE sli.shopping_list_id = :shoppingListId
+           AND sli.purchased_quantity > 0
+           GROUP BY COALESCE(i.category_id, 0)
+       ) d
+       WHERE spending_rollup.user_id = :userId
+       AND spending_rollup.reference_month = :month
+       AND spending_rollup.category_id = d.category_id
+       """, nativeQuery = true)
+    int addShoppingList(
+            @Param("userId") Long userId,
+            @Param("month") LocalDate month,
+            @Param("shoppingListId") Long shoppingListId
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM spending_rollup WHERE user_id > :afterUserId AND user_id <= :lastUserId", nativeQuery = true)
+    int deleteByUserRange(@Param("afterUserId") Long afterUserId, @Param("lastUserId") Long lastUserId);
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO spending_rollup (user_id, reference_month, category_id, total_spent, item_count, updated_at)
+       SELECT sl.user_id,
+              CAST(DATE_TRUNC('month', sl.finalized_at) AS DATE),
+              COALESCE(i.category_id, 0),
+              SUM(sli.subtotal),
+              COUNT(*),
+              CURRENT_TIMESTAMP
+       FROM shopping_list sl
+       JOIN shopping_list_item sli ON sli.shopping_list_id = sl.shopping_list_id
+       JOIN item i ON i.item_id = sli.item_id
+       WHERE sl.user_id > :afterUserId
+       AND sl.user_id <= :lastUserId
+       AND sl.finalized_at IS NOT NULL
+       AND sli.purchased_quantity > 0
+       GROUP BY sl.user_id, CAST(DATE_TRUNC('month', sl.finalized_at) AS DATE), COALESCE(i.category_id, 0)
+       """, nativeQuery = true)
+    int insertFromHistory(@Param("afterUserId") Long afterUserId, @Param("lastUserId") Long lastUserId);
+}
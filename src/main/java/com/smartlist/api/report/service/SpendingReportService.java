@@ -0,0 +1,64 @@
+package com.smartlist.api.report.service;
+
+import com.smartlist.api.exceptions.BadRequestException;
+import com.smartlist.api.report.dto.MonthlySpendingResponse;
+import com.smartlist.api.report.repository.SpendingRollupRepository;
+import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
+import com.smartlist.api.user.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@Slf4j
+@Service
+public class SpendingReportService {
+
+    private final SpendingRollupRepository spendingRollupRepository;
+    private final ShoppingListRepository shoppingListRepository;
+
+    public SpendingReportService(SpendingRollupRepository spendingRollupRepository, ShoppingListRepository shoppingListRepository) {
+        this.spendingRollupRepository = spendingRollupRepository;
+        this.shoppingListRepository = shoppingListRepository;
+    }
+
+    /*
+     * finalized_at só é gravado uma vez por lista; quem não consegue gravá-lo não soma de novo,
+     * então repetir a chamada para a mesma lista não altera os totais.
+     */
+    @Transactional
+    public void recordFinalizedShoppingList(User user, Long shoppingListId, LocalDateTime finalizedAt) {
+        if (shoppingListRepository.markFinalized(shoppingListId, finalizedAt) == 0) {
+            log.warn("Gastos da lista já contabilizados. UserId={}, ShoppingListId={}", user.getUserId(), shoppingListId);
+            return;
+        }
+
+        LocalDate month = finalizedAt.toLocalDate().withDayOfMonth(1);
+
+        spendingRollupRepository.insertMissingRollups(user.getUserId(), month, shoppingListId);
+        int categories = spendingRollupRepository.addShoppingList(user.getUserId(), month, shoppingListId);
+
+        log.debug(
+                "Gastos da lista contabilizados. UserId={}, ShoppingListId={}, Mes={}, Categorias={}",
+                user.getUserId(), shoppingListId, month, categories
+        );
+    }
+
+    public List<MonthlySpendingResponse> getMonthlySpending(User user, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("RP1001", "Mês inicial posterior ao mês final");
+        }
+
+        return spendingRollupRepository.findMonthlySpending(user.getUserId(), from.atDay(1), to.atDay(1));
+    }
+
+    @Transactional
+    public int rebuildUserRange(Long afterUserId, Long lastUserId) {
+        spendingRollupRepository.deleteByUserRange(afterUserId, lastUserId);
+        return spendingRollupRepository.insertFromHistory(afterUserId, lastUserId);
+    }
+}
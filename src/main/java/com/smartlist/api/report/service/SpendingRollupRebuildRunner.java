@@ -0,0 +1,74 @@
+package com.smartlist.api.report.service;
+
+import com.smartlist.api.infra.config.SpendingRollupProperties;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recalcula spending_rollup a partir do histórico de listas finalizadas quando a aplicação é
+ * iniciada com --rebuild-spending-rollups. Os usuários são percorridos em faixas de id, cada faixa
+ * apagada e recalculada numa transação própria, então a execução pode ser repetida.
+ * O delete + insert de uma faixa não é serializado com finalizações concorrentes: uma lista finalizada
+ * durante a reconstrução pode ficar fora do total ou derrubar o insert com chave duplicada. Rode com a
+ * API fora do ar (nenhuma outra instância atendendo requisições).
+ */
+@Slf4j
+@Component
+public class SpendingRollupRebuildRunner implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-spending-rollups";
+
+    private final SpendingReportService spendingReportService;
+    private final UserRepository userRepository;
+    private final SpendingRollupProperties properties;
+
+    public SpendingRollupRebuildRunner(
+            SpendingReportService spendingReportService,
+            UserRepository userRepository,
+            SpendingRollupProperties properties
+    ) {
+        this.spendingReportService = spendingReportService;
+        this.userRepository = userRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        Long maxUserId = userRepository.findMaxUserId();
+
+        if (maxUserId == null) {
+            return;
+        }
+
+        log.info("Reconstrução dos totais de gastos iniciada. Lote={}", properties.getRebuildBatchSize());
+
+        long cursor = 0;
+        int rollups = 0;
+        List<User> users;
+
+        while (!(users = userRepository.findByUserIdGreaterThanAndUserIdLessThanEqualOrderByUserIdAsc(
+                cursor,
+                maxUserId,
+                Limit.of(properties.getRebuildBatchSize())
+        )).isEmpty()) {
+            long lastUserId = users.getLast().getUserId();
+            rollups += spendingReportService.rebuildUserRange(cursor, lastUserId);
+            cursor = lastUserId;
+        }
+
+        log.info("Reconstrução dos totais de gastos concluída. UltimoUserId={}, Linhas={}", cursor, rollups);
+    }
+}
@@ -1,57 +1,98 @@
 package com.smartlist.api.shoppinglist.controller;
 
+import com.smartlist.api.infra.common.dto.KeysetPageResponse;
 import com.smartlist.api.shared.dto.ApiResponse;
 import com.smartlist.api.shoppinglist.dto.FinalizePurchaseRequest;
+import com.smartlist.api.shoppinglist.dto.ShoppingListItemBulkUpdateRequest;
 import com.smartlist.api.shoppinglist.dto.ShoppingListResponse;
 import com.smartlist.api.shoppinglist.dto.ShoppingListItemUpdateRequest;
+import com.smartlist.api.shoppinglist.dto.ShoppingListSummaryResponse;
 import com.smartlist.api.shoppinglist.service.ShoppingListApplicationService;
+import com.smartlist.api.shoppinglist.service.ShoppingListETag;
 import com.smartlist.api.shoppinglist.service.ShoppingListService;
+import com.smartlist.api.shoppinglist.service.ShoppingListStreamHub;
 import com.smartlist.api.user.model.User;
 import com.smartlist.api.userdetails.UserDetailsImpl;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/shopping-lists")
 public class ShoppingListController {
     private final ShoppingListService shoppingListService;
     private final ShoppingListApplicationService shoppingListApplicationService;
+    private final ShoppingListStreamHub shoppingListStreamHub;
 
-    public ShoppingListController(ShoppingListService shoppingListService, ShoppingListApplicationService shoppingListApplicationService) {
+    public ShoppingListController(ShoppingListService shoppingListService, ShoppingListApplicationService shoppingListApplicationService, ShoppingListStreamHub shoppingListStreamHub) {
         this.shoppingListService = shoppingListService;
         this.shoppingListApplicationService = shoppingListApplicationService;
+        this.shoppingListStreamHub = shoppingListStreamHub;
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<KeysetPageResponse<ShoppingListSummaryResponse>>> listShoppingListHistory(@AuthenticationPrincipal UserDetailsImpl userDetails, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size) {
+        KeysetPageResponse<ShoppingListSummaryResponse> response = shoppingListService.listShoppingListHistory(userDetails.getUserReference(), cursor, size);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Histórico de listas obtido com sucesso.", response));
     }
 
     @GetMapping("/active")
-    public ResponseEntity<ApiResponse<ShoppingListResponse>> getActiveShoppingList(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+    public ResponseEntity<ApiResponse<ShoppingListResponse>> getActiveShoppingList(@AuthenticationPrincipal UserDetailsImpl userDetails, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        User user = userDetails.getUserReference();
+
+        if (ifNoneMatch != null) {
+            Optional<ShoppingListETag> unchanged = shoppingListService.findUnchangedActiveShoppingList(user, ifNoneMatch);
+
+            if (unchanged.isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchanged.get().value()).build();
+            }
+        }
+
         ShoppingListResponse shoppingListDTO = shoppingListApplicationService.getActive(user);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Lista ativa obtida com sucesso.", shoppingListDTO));
+        return ResponseEntity.ok()
+                .eTag(ShoppingListETag.of(shoppingListDTO.shoppingListId(), shoppingListDTO.version()).value())
+                .body(new ApiResponse<>(true, "Lista ativa obtida com sucesso.", shoppingListDTO));
+    }
+
+    @GetMapping(value = "/active/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamActiveShoppingList(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return shoppingListStreamHub.subscribe(userDetails.getUserReference(), userDetails.getTokenExpiresAt());
     }
 
     @GetMapping("/{shoppingListId}")
     public ResponseEntity<ApiResponse<ShoppingListResponse>> getShoppingListWithItems(@PathVariable Long shoppingListId, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        ShoppingListResponse shoppingListDTO = shoppingListService.getShoppingListWithItems(shoppingListId, userDetails.getUser());
+        ShoppingListResponse shoppingListDTO = shoppingListService.getShoppingListWithItems(shoppingListId, userDetails.getUserReference());
         return ResponseEntity.ok(new ApiResponse<>(true, "Lista obtida com sucesso.", shoppingListDTO));
     }
 
+    @PatchMapping("/items")
+    public ResponseEntity<ApiResponse<Void>> updateShoppingListItems(@AuthenticationPrincipal UserDetailsImpl userDetails, @Valid @RequestBody ShoppingListItemBulkUpdateRequest dto) {
+        shoppingListService.updateShoppingListItems(userDetails.getUserReference(), dto.items());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Itens atualizados com sucesso", null));
+    }
+
     @PatchMapping("/items/{itemId}")
     public ResponseEntity<ApiResponse<Void>> updateShoppingListItem(@PathVariable Long shoppingListItemId, @AuthenticationPrincipal UserDetailsImpl userDetails, @Valid @RequestBody ShoppingListItemUpdateRequest dto) {
-        shoppingListService.updateShoppingListItem(shoppingListItemId, userDetails.getUser(), dto);
+        shoppingListService.updateShoppingListItem(shoppingListItemId, userDetails.getUserReference(), dto);
         return ResponseEntity.ok(new ApiResponse<>(true, "Item atualizado com sucesso", null));
     }
 
     @DeleteMapping("/items/{shoppingListItemId}")
     public ResponseEntity<ApiResponse<Void>> deleteShoppingListItem(@PathVariable Long shoppingListItemId, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        shoppingListService.deleteShoppingListItem(shoppingListItemId, userDetails.getUser());
+        shoppingListService.deleteShoppingListItem(shoppingListItemId, userDetails.getUserReference());
         return ResponseEntity.ok(new ApiResponse<>(true, "Item excluído com sucesso", null));
     }
 
     @PostMapping("{shoppingListId}/finalize")
     public ResponseEntity<ApiResponse<Void>> finalize(@PathVariable Long shoppingListId, @Valid @RequestBody FinalizePurchaseRequest dto, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
 
         shoppingListApplicationService.finalizeShoppingList(shoppingListId, dto, user);
 
@@ -0,0 +1,19 @@
+package com.smartlist.api.shoppinglist.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record ShoppingListItemBulkUpdateEntry(
+        @NotNull(message = "Item da lista é obrigatório.")
+        Long shoppingListItemId,
+
+        BigDecimal purchasedQuantity,
+
+        BigDecimal unitaryPrice
+) {
+
+    public ShoppingListItemUpdateRequest toUpdateRequest() {
+        return new ShoppingListItemUpdateRequest(purchasedQuantity, unitaryPrice);
+    }
+}
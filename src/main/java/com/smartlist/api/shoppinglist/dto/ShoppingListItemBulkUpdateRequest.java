@@ -0,0 +1,14 @@
+package com.smartlist.api.shoppinglist.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ShoppingListItemBulkUpdateRequest(
+        @NotEmpty(message = "Lista de itens não pode estar vazia")
+        @Size(max = 500, message = "Máximo de 500 itens por requisição")
+        @Valid
+        List<ShoppingListItemBulkUpdateEntry> items
+) {}
@@ -7,6 +7,7 @@ import java.util.List;
 public record ShoppingListResponse(
         Long shoppingListId,
         boolean isActive,
+        long version,
         List<ShoppingListItemResponse> items
 ) {
 }
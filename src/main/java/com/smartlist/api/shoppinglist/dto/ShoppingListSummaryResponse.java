@@ -0,0 +1,12 @@
+package com.smartlist.api.shoppinglist.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ShoppingListSummaryResponse(
+        Long shoppingListId,
+        LocalDateTime createdAt,
+        long itemCount,
+        BigDecimal totalSpent
+) {
+}
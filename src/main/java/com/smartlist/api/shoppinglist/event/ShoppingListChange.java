@@ -0,0 +1,51 @@
+package com.smartlist.api.shoppinglist.event;
+
+import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+
+import java.math.BigDecimal;
+
+public record ShoppingListChange(
+        Long shoppingListId,
+        ShoppingListChangeType type,
+        Long shoppingListItemId,
+        Long itemId,
+        BigDecimal purchasedQuantity,
+        BigDecimal unitaryPrice,
+        BigDecimal subtotal,
+        Integer itemsAdded
+) {
+
+    public static ShoppingListChange itemsAdded(Long shoppingListId, Long itemId, int itemsAdded) {
+        return new ShoppingListChange(shoppingListId, ShoppingListChangeType.ITEMS_ADDED, null, itemId, null, null, null, itemsAdded);
+    }
+
+    public static ShoppingListChange itemUpdated(ShoppingListItem item) {
+        return new ShoppingListChange(
+                item.getShoppingList().getShoppingListId(),
+                ShoppingListChangeType.ITEM_UPDATED,
+                item.getShoppingListItemId(),
+                item.getItem() != null ? item.getItem().getItemId() : null,
+                item.getPurchasedQuantity(),
+                item.getUnitaryPrice(),
+                item.getSubtotal(),
+                null
+        );
+    }
+
+    public static ShoppingListChange itemRemoved(ShoppingListItem item) {
+        return new ShoppingListChange(
+                item.getShoppingList().getShoppingListId(),
+                ShoppingListChangeType.ITEM_REMOVED,
+                item.getShoppingListItemId(),
+                item.getItem() != null ? item.getItem().getItemId() : null,
+                null,
+                null,
+                null,
+                null
+        );
+    }
+
+    public static ShoppingListChange finalized(Long shoppingListId) {
+        return new ShoppingListChange(shoppingListId, ShoppingListChangeType.FINALIZED, null, null, null, null, null, null);
+    }
+}
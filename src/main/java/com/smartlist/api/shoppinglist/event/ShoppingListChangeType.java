@@ -0,0 +1,8 @@
+package com.smartlist.api.shoppinglist.event;
+
+public enum ShoppingListChangeType {
+    ITEMS_ADDED,
+    ITEM_UPDATED,
+    ITEM_REMOVED,
+    FINALIZED
+}
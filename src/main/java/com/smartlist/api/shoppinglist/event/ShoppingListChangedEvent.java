@@ -0,0 +1,6 @@
+package com.smartlist.api.shoppinglist.event;
+
+public record ShoppingListChangedEvent(
+        Long userId,
+        ShoppingListChange change
+) {}
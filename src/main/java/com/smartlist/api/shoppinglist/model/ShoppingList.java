@@ -19,7 +19,8 @@ import java.util.List;
 @AllArgsConstructor
 public class ShoppingList {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shopping_list_id_generator")
+    @SequenceGenerator(name = "shopping_list_id_generator", sequenceName = "shopping_list_shopping_list_id_seq", allocationSize = 50)
     @Column(name = "shopping_list_id")
     private Long shoppingListId;
 
@@ -33,6 +34,13 @@ public class ShoppingList {
     @Column(name = "active")
     private boolean active;
 
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Gravado apenas por ShoppingListRepository.markFinalized, que garante uma única contabilização dos gastos
+    @Column(name = "finalized_at", insertable = false, updatable = false)
+    private LocalDateTime finalizedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
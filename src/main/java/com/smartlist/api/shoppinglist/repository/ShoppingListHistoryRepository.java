@@ -0,0 +1,68 @@
+package com.smartlist.api.shoppinglist.repository;
+
+import com.smartlist.api.shoppinglist.dto.ShoppingListSummaryResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class ShoppingListHistoryRepository {
+
+    /*
+     * A página é recortada primeiro pelo índice (user_id, created_at, shopping_list_id) e só então
+     * agregada, então o custo acompanha o tamanho da página e não o histórico do usuário.
+     */
+    private static final String FIND_PAGE = """
+            SELECT sl.shopping_list_id,
+                   sl.created_at,
+                   COUNT(sli.shopping_list_item_id) AS item_count,
+                   COALESCE(SUM(sli.subtotal), 0) AS total_spent
+            FROM (
+                SELECT shopping_list_id, created_at
+                FROM shopping_list
+                WHERE user_id = ?
+                AND active = FALSE
+                %s
+                ORDER BY created_at DESC, shopping_list_id DESC
+                LIMIT ?
+            ) sl
+            LEFT JOIN shopping_list_item sli ON sli.shopping_list_id = sl.shopping_list_id
+            GROUP BY sl.shopping_list_id, sl.created_at
+            ORDER BY sl.created_at DESC, sl.shopping_list_id DESC
+            """;
+
+    private static final String AFTER_CURSOR = "AND (created_at, shopping_list_id) < (?, ?)";
+
+    private static final RowMapper<ShoppingListSummaryResponse> ROW_MAPPER = (rs, rowNum) ->
+            new ShoppingListSummaryResponse(
+                    rs.getLong("shopping_list_id"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getLong("item_count"),
+                    rs.getBigDecimal("total_spent")
+            );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShoppingListHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ShoppingListSummaryResponse> findInactivePage(Long userId, int limit) {
+        return jdbcTemplate.query(FIND_PAGE.formatted(""), ROW_MAPPER, userId, limit);
+    }
+
+    public List<ShoppingListSummaryResponse> findInactivePageAfter(Long userId, LocalDateTime createdAt, Long shoppingListId, int limit) {
+        return jdbcTemplate.query(
+                FIND_PAGE.formatted(AFTER_CURSOR),
+                ROW_MAPPER,
+                userId,
+                Timestamp.valueOf(createdAt),
+                shoppingListId,
+                limit
+        );
+    }
+}
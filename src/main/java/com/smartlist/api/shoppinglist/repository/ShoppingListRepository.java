@@ -3,11 +3,49 @@ package com.smartlist.api.shoppinglist.repository;
 import com.smartlist.api.shoppinglist.model.ShoppingList;
 import com.smartlist.api.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface ShoppingListRepository extends JpaRepository<ShoppingList, Long> {
     Optional<ShoppingList> findByUserAndActiveTrue(User user);
     Optional<ShoppingList> findByShoppingListIdAndUserAndActiveTrue(Long shoppingListId, User user);
     Optional<ShoppingList> findByShoppingListIdAndUser(Long shoppingListId, User user);
+
+    /*
+     * O índice único parcial em shopping_list(user_id) WHERE active garante uma única lista ativa
+     * por usuário; requisições concorrentes caem no ON CONFLICT em vez de criar outra lista.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO shopping_list (shopping_list_id, user_id, active, version, created_at, updated_at)
+       VALUES (nextval('shopping_list_shopping_list_id_seq'), :userId, TRUE, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+       ON CONFLICT DO NOTHING
+       """, nativeQuery = true)
+    int insertActiveIfAbsent(@Param("userId") Long userId);
+
+    @Query("""
+       SELECT sl.version
+       FROM ShoppingList sl
+       WHERE sl.shoppingListId = :shoppingListId
+       AND sl.user = :user
+       AND sl.active = true
+       """)
+    Optional<Long> findActiveVersion(@Param("shoppingListId") Long shoppingListId, @Param("user") User user);
+
+    @Modifying
+    @Query("UPDATE ShoppingList sl SET sl.version = sl.version + 1 WHERE sl.shoppingListId = :shoppingListId")
+    int incrementVersion(@Param("shoppingListId") Long shoppingListId);
+
+    @Modifying
+    @Query(value = """
+       UPDATE shopping_list
+       SET finalized_at = :finalizedAt
+       WHERE shopping_list_id = :shoppingListId
+       AND finalized_at IS NULL
+       """, nativeQuery = true)
+    int markFinalized(@Param("shoppingListId") Long shoppingListId, @Param("finalizedAt") LocalDateTime finalizedAt);
 }
@@ -4,18 +4,26 @@ import com.smartlist.api.exceptions.BadRequestException;
 import com.smartlist.api.inventory.item.repository.ItemRepository;
 import com.smartlist.api.inventory.item.service.ItemService;
 import com.smartlist.api.inventory.service.InventoryApplicationService;
+import com.smartlist.api.inventory.service.StockAddition;
+import com.smartlist.api.report.service.SpendingReportService;
 import com.smartlist.api.shoppinglist.dto.FinalizePurchaseRequest;
 import com.smartlist.api.shoppinglist.dto.PurchasedItemRequest;
 import com.smartlist.api.shoppinglist.dto.ShoppingListResponse;
+import com.smartlist.api.shoppinglist.event.ShoppingListChange;
+import com.smartlist.api.shoppinglist.event.ShoppingListChangedEvent;
 import com.smartlist.api.shoppinglist.model.ShoppingList;
 import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
 import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.shoppinglistitem.repository.ShoppingListItemRepository;
 import com.smartlist.api.user.model.User;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,26 +35,34 @@ public class ShoppingListApplicationService {
     private final ShoppingListService shoppingListService;
     private final InventoryApplicationService inventoryApplicationService;
     private final ShoppingListRepository shoppingListRepository;
+    private final ShoppingListItemRepository shoppingListItemRepository;
     private final ItemService itemService;
     private final ItemRepository itemRepository;
+    private final SpendingReportService spendingReportService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ShoppingListApplicationService(
             ShoppingListService shoppingListService,
             InventoryApplicationService inventoryApplicationService,
             ShoppingListRepository shoppingListRepository,
+            ShoppingListItemRepository shoppingListItemRepository,
             ItemService itemService,
-            ItemRepository itemRepository
+            ItemRepository itemRepository,
+            SpendingReportService spendingReportService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.shoppingListService = shoppingListService;
         this.inventoryApplicationService = inventoryApplicationService;
         this.shoppingListRepository = shoppingListRepository;
+        this.shoppingListItemRepository = shoppingListItemRepository;
         this.itemService = itemService;
         this.itemRepository = itemRepository;
+        this.spendingReportService = spendingReportService;
+        this.eventPublisher = eventPublisher;
     }
 
     public ShoppingListResponse getActive(User user) {
-        inventoryApplicationService.refreshInventory(user);
-        return shoppingListService.getActiveShoppingListByUser(user);
+        return shoppingListService.getOrCreateActiveShoppingListByUser(user);
     }
 
     @Transactional
@@ -57,12 +73,6 @@ public class ShoppingListApplicationService {
                 shoppingListId
         );
 
-        Map<Long, PurchasedItemRequest> purchasedItems = new HashMap<>();
-
-        for (PurchasedItemRequest item : finalizePurchaseRequestDTO.items()) {
-            purchasedItems.put(item.shoppingListItemId(), item);
-        }
-
         ShoppingList shoppingList = shoppingListRepository
                 .findByShoppingListIdAndUserAndActiveTrue(shoppingListId, user)
                 .orElseThrow(() -> {
@@ -74,67 +84,65 @@ public class ShoppingListApplicationService {
                     return new BadRequestException("SLA1001", "Lista inexistente ou inativa");
                 });
 
-        List<ShoppingListItem> shoppingListItems = shoppingList.getItems();
+        Map<Long, ShoppingListItem> shoppingListItems = new HashMap<>();
 
-        for (Long id : purchasedItems.keySet()) {
-            boolean exists = shoppingListItems.stream()
-                    .anyMatch(i -> i.getShoppingListItemId().equals(id));
+        for (ShoppingListItem shoppingListItem : shoppingListItemRepository.findAllWithItemByShoppingList(shoppingList)) {
+            shoppingListItems.put(shoppingListItem.getShoppingListItemId(), shoppingListItem);
+        }
 
-            if (!exists) {
+        Map<Long, PurchasedItemRequest> purchasedItems = new HashMap<>();
+
+        for (PurchasedItemRequest dto : finalizePurchaseRequestDTO.items()) {
+            if (!shoppingListItems.containsKey(dto.shoppingListItemId())) {
                 log.warn(
                         "Item inválido na finalização da compra. UserId={}, ShoppingListItemId={}",
                         user.getUserId(),
-                        id
+                        dto.shoppingListItemId()
                 );
                 throw new BadRequestException("SLA1002", "Item inválido na finalização da compra");
             }
+
+            validatePurchasedItem(dto);
+            purchasedItems.put(dto.shoppingListItemId(), dto);
         }
 
-        for (ShoppingListItem shoppingListItem : shoppingListItems) {
+        List<StockAddition> stockAdditions = new ArrayList<>(purchasedItems.size());
+        List<ShoppingListItem> changedItems = new ArrayList<>(shoppingListItems.size());
 
+        for (ShoppingListItem shoppingListItem : shoppingListItems.values()) {
             PurchasedItemRequest dto = purchasedItems.get(shoppingListItem.getShoppingListItemId());
 
-            if (dto != null) {
-
-                if (dto.purchasedQuantity().compareTo(BigDecimal.ZERO) < 0) {
-                    throw new BadRequestException(
-                            "SLA1002",
-                            "Quantidade comprada não pode ser negativa"
-                    );
-                }
-
-                if (dto.purchasedQuantity().compareTo(BigDecimal.ZERO) > 0 &&
-                        dto.unitaryPrice() == null) {
-                    throw new BadRequestException(
-                            "SLA1003",
-                            "Preço unitário é obrigatório quando a quantidade comprada é maior que zero"
-                    );
-                }
-
-                if (dto.unitaryPrice() != null &&
-                        dto.unitaryPrice().compareTo(BigDecimal.ZERO) < 0) {
-                    throw new BadRequestException(
-                            "SLA1004",
-                            "Preço unitário inválido"
-                    );
-                }
-
-                shoppingListItem.setPurchasedQuantity(dto.purchasedQuantity());
-                shoppingListItem.setUnitaryPrice(dto.unitaryPrice());
-                shoppingListItem.setSubtotal(dto.purchasedQuantity().multiply(dto.unitaryPrice()));
+            /*
+             * unitary_price é NOT NULL: itens não comprados mantêm o preço já registrado
+             * e só entram no estoque as quantidades efetivamente compradas.
+             */
+            BigDecimal purchasedQuantity = dto != null ? dto.purchasedQuantity() : BigDecimal.ZERO;
+            BigDecimal unitaryPrice = dto != null && dto.unitaryPrice() != null
+                    ? dto.unitaryPrice()
+                    : currentUnitaryPrice(shoppingListItem);
+
+            if (applyFinalizedValues(shoppingListItem, purchasedQuantity, unitaryPrice)) {
+                changedItems.add(shoppingListItem);
+            }
 
-                inventoryApplicationService.addStock(user, shoppingListItem.getItem(), dto.purchasedQuantity());
-            } else {
-                shoppingListItem.setPurchasedQuantity(BigDecimal.ZERO);
-                shoppingListItem.setUnitaryPrice(null);
-                shoppingListItem.setSubtotal(BigDecimal.ZERO);
+            if (purchasedQuantity.signum() > 0) {
+                stockAdditions.add(new StockAddition(shoppingListItem.getItem(), purchasedQuantity));
             }
+        }
 
+        if (!changedItems.isEmpty()) {
+            shoppingListItemRepository.saveAll(changedItems);
         }
 
+        if (!stockAdditions.isEmpty()) {
+            inventoryApplicationService.addStock(user, stockAdditions);
+        }
 
         shoppingList.setActive(false);
+        shoppingList.setVersion(shoppingList.getVersion() + 1);
         shoppingListRepository.save(shoppingList);
+        spendingReportService.recordFinalizedShoppingList(user, shoppingListId, LocalDateTime.now());
+        eventPublisher.publishEvent(new ShoppingListChangedEvent(user.getUserId(), ShoppingListChange.finalized(shoppingListId)));
 
         log.info(
                 "Compra finalizada com sucesso. UserId={}, ShoppingListId={}",
@@ -142,4 +150,57 @@ public class ShoppingListApplicationService {
                 shoppingListId
         );
     }
+
+    /*
+     * Itens que não foram comprados e já estão zerados não mudam; só as linhas alteradas são regravadas.
+     */
+    private boolean applyFinalizedValues(ShoppingListItem shoppingListItem, BigDecimal purchasedQuantity, BigDecimal unitaryPrice) {
+        BigDecimal subtotal = purchasedQuantity.multiply(unitaryPrice);
+
+        if (
+                sameValue(purchasedQuantity, shoppingListItem.getPurchasedQuantity()) &&
+                sameValue(unitaryPrice, shoppingListItem.getUnitaryPrice()) &&
+                sameValue(subtotal, shoppingListItem.getSubtotal())
+        ) {
+            return false;
+        }
+
+        shoppingListItem.setPurchasedQuantity(purchasedQuantity);
+        shoppingListItem.setUnitaryPrice(unitaryPrice);
+        shoppingListItem.setSubtotal(subtotal);
+        return true;
+    }
+
+    private boolean sameValue(BigDecimal value, BigDecimal current) {
+        return current != null && value.compareTo(current) == 0;
+    }
+
+    private BigDecimal currentUnitaryPrice(ShoppingListItem shoppingListItem) {
+        return shoppingListItem.getUnitaryPrice() != null ? shoppingListItem.getUnitaryPrice() : BigDecimal.ZERO;
+    }
+
+    private void validatePurchasedItem(PurchasedItemRequest dto) {
+        if (dto.purchasedQuantity().compareTo(BigDecimal.ZERO) < 0) {
+            throw new BadRequestException(
+                    "SLA1002",
+                    "Quantidade comprada não pode ser negativa"
+            );
+        }
+
+        if (dto.purchasedQuantity().compareTo(BigDecimal.ZERO) > 0 &&
+                dto.unitaryPrice() == null) {
+            throw new BadRequestException(
+                    "SLA1003",
+                    "Preço unitário é obrigatório quando a quantidade comprada é maior que zero"
+            );
+        }
+
+        if (dto.unitaryPrice() != null &&
+                dto.unitaryPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new BadRequestException(
+                    "SLA1004",
+                    "Preço unitário inválido"
+            );
+        }
+    }
 }
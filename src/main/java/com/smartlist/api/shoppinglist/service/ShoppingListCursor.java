@@ -0,0 +1,39 @@
+package com.smartlist.api.shoppinglist.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Posição no histórico de listas: a chave (created_at, shopping_list_id) da última lista entregue.
+ * O id desempata listas criadas no mesmo instante, então nenhuma lista é pulada ou repetida.
+ */
+public record ShoppingListCursor(LocalDateTime createdAt, Long shoppingListId) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static Optional<ShoppingListCursor> parse(String value) {
+        try {
+            String decoded = new String(DECODER.decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(',');
+
+            if (separator < 0) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new ShoppingListCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))
+            ));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String value() {
+        return ENCODER.encodeToString((createdAt + "," + shoppingListId).getBytes(StandardCharsets.UTF_8));
+    }
+}
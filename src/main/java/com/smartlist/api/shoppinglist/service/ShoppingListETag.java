@@ -0,0 +1,42 @@
+package com.smartlist.api.shoppinglist.service;
+
+import java.util.Optional;
+
+/**
+ * ETag da lista no formato "shoppingListId-version". O id faz parte da tag para que a validação
+ * seja uma busca pela chave primária, e uma lista nova nunca repete a tag da anterior.
+ */
+public record ShoppingListETag(Long shoppingListId, long version) {
+
+    public static ShoppingListETag of(Long shoppingListId, long version) {
+        return new ShoppingListETag(shoppingListId, version);
+    }
+
+    public static Optional<ShoppingListETag> parse(String value) {
+        String tag = value.trim();
+
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return Optional.empty();
+        }
+
+        String[] parts = tag.substring(1, tag.length() - 1).split("-");
+
+        if (parts.length != 2) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new ShoppingListETag(Long.parseLong(parts[0]), Long.parseLong(parts[1])));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String value() {
+        return "\"" + shoppingListId + "-" + version + "\"";
+    }
+}
@@ -1,34 +1,57 @@
 package com.smartlist.api.shoppinglist.service;
 
 import com.smartlist.api.exceptions.BadRequestException;
+import com.smartlist.api.infra.common.dto.KeysetPageResponse;
 import com.smartlist.api.inventory.item.model.Item;
 import com.smartlist.api.inventory.item.repository.ItemRepository;
 import com.smartlist.api.inventory.service.InventoryService;
 import com.smartlist.api.shoppinglist.dto.ShoppingListResponse;
+import com.smartlist.api.shoppinglist.dto.ShoppingListItemBulkUpdateEntry;
 import com.smartlist.api.shoppinglist.dto.ShoppingListItemUpdateRequest;
+import com.smartlist.api.shoppinglist.dto.ShoppingListSummaryResponse;
+import com.smartlist.api.shoppinglist.event.ShoppingListChange;
+import com.smartlist.api.shoppinglist.event.ShoppingListChangedEvent;
 import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglist.repository.ShoppingListHistoryRepository;
 import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
 import com.smartlist.api.shoppinglistitem.dto.ShoppingListItemResponse;
 import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
 import com.smartlist.api.shoppinglistitem.repository.ShoppingListItemRepository;
 import com.smartlist.api.user.model.User;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class ShoppingListService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
+
     private final ShoppingListRepository shoppingListRepository;
     private final ShoppingListItemRepository shoppingListItemRepository;
+    private final ShoppingListHistoryRepository shoppingListHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ShoppingListService(
             ShoppingListRepository shoppingListRepository,
-            ShoppingListItemRepository shoppingListItemRepository
+            ShoppingListItemRepository shoppingListItemRepository,
+            ShoppingListHistoryRepository shoppingListHistoryRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.shoppingListRepository = shoppingListRepository;
         this.shoppingListItemRepository = shoppingListItemRepository;
+        this.shoppingListHistoryRepository = shoppingListHistoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public ShoppingListResponse getActiveShoppingListByUser(User user) {
@@ -36,6 +59,66 @@ public class ShoppingListService {
         return buildResponse(shoppingList);
     }
 
+    /*
+     * Usuários novos e quem acabou de finalizar uma compra ainda não têm lista ativa; a finalização
+     * sem itens comprados nem dispara o recálculo que a criaria. A leitura abre a lista vazia.
+     */
+    @Transactional
+    public ShoppingListResponse getOrCreateActiveShoppingListByUser(User user) {
+        return buildResponse(getOrActiveShoppingList(user));
+    }
+
+    public Optional<ShoppingListETag> findUnchangedActiveShoppingList(User user, String ifNoneMatch) {
+        for (String value : ifNoneMatch.split(",")) {
+            Optional<ShoppingListETag> unchanged = ShoppingListETag.parse(value)
+                    .filter(eTag -> shoppingListRepository
+                            .findActiveVersion(eTag.shoppingListId(), user)
+                            .filter(version -> version == eTag.version())
+                            .isPresent());
+
+            if (unchanged.isPresent()) {
+                return unchanged;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    public KeysetPageResponse<ShoppingListSummaryResponse> listShoppingListHistory(User user, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+
+        List<ShoppingListSummaryResponse> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = shoppingListHistoryRepository.findInactivePage(user.getUserId(), pageSize + 1);
+        } else {
+            ShoppingListCursor after = ShoppingListCursor.parse(cursor)
+                    .orElseThrow(() -> new BadRequestException("SL1006", "Cursor inválido"));
+
+            rows = shoppingListHistoryRepository.findInactivePageAfter(
+                    user.getUserId(),
+                    after.createdAt(),
+                    after.shoppingListId(),
+                    pageSize + 1
+            );
+        }
+
+        boolean last = rows.size() <= pageSize;
+        List<ShoppingListSummaryResponse> content = last ? rows : rows.subList(0, pageSize);
+
+        KeysetPageResponse<ShoppingListSummaryResponse> response = new KeysetPageResponse<>();
+        response.setContent(content);
+        response.setPageSize(pageSize);
+        response.setLast(last);
+
+        if (!last) {
+            ShoppingListSummaryResponse lastRow = content.get(content.size() - 1);
+            response.setNextCursor(new ShoppingListCursor(lastRow.createdAt(), lastRow.shoppingListId()).value());
+        }
+
+        return response;
+    }
+
     public ShoppingListResponse getShoppingListWithItems(Long shoppingListId, User user) {
         ShoppingList shoppingList = shoppingListRepository
                 .findByShoppingListIdAndUser(shoppingListId, user)
@@ -44,6 +127,7 @@ public class ShoppingListService {
         return buildResponse(shoppingList);
     }
 
+    @Transactional
     public ShoppingList getOrActiveShoppingList(User user) {
         return shoppingListRepository
                 .findByUserAndActiveTrue(user)
@@ -51,38 +135,113 @@ public class ShoppingListService {
     }
 
     private ShoppingList createActiveShoppingList(User user) {
-        ShoppingList shoppingList = new ShoppingList();
-        shoppingList.setUser(user);
-        shoppingList.setActive(true);
-
-        shoppingListRepository.save(shoppingList);
+        if (shoppingListRepository.insertActiveIfAbsent(user.getUserId()) > 0) {
+            log.info("Nova lista de compras criada para usuário ID: {}", user.getUserId());
+        }
 
-        log.info("Nova lista de compras criada para usuário ID: {}", user.getUserId());
-        return shoppingList;
+        return shoppingListRepository
+                .findByUserAndActiveTrue(user)
+                .orElseThrow(() -> new IllegalStateException("Lista ativa não encontrada após upsert. UserId=" + user.getUserId()));
     }
 
+    @Transactional
     public void addItemToShoppingList(Item item, User user) {
         ShoppingList shoppingList = getOrActiveShoppingList(user);
 
-        boolean alreadyExists =
-                shoppingListItemRepository.existsByShoppingListAndItem(shoppingList, item);
+        int inserted = shoppingListItemRepository.insertIfAbsent(
+                shoppingList.getShoppingListId(),
+                item.getItemId(),
+                item.getPrice()
+        );
 
-        if (alreadyExists) {
+        if (inserted == 0) {
             log.debug("Item ID {} já existe na lista de compras do usuário {}", item.getItemId(), user.getUserId());
             return;
         }
 
-        ShoppingListItem shoppingListItem = ShoppingListItem.create(item, shoppingList);
-        shoppingListItemRepository.save(shoppingListItem);
+        shoppingListRepository.incrementVersion(shoppingList.getShoppingListId());
+        publish(user, ShoppingListChange.itemsAdded(shoppingList.getShoppingListId(), item.getItemId(), inserted));
 
         log.info("Item ID {} adicionado a lista do usuário ID {}", item.getItemId(), user.getUserId());
     }
 
+    @Transactional
+    public int addCriticalItemsToShoppingList(User user, LocalDate today) {
+        ShoppingList shoppingList = getOrActiveShoppingList(user);
+
+        int inserted = shoppingListItemRepository.insertCriticalItems(
+                shoppingList.getShoppingListId(),
+                user.getUserId(),
+                today
+        );
+
+        if (inserted > 0) {
+            shoppingListRepository.incrementVersion(shoppingList.getShoppingListId());
+            publish(user, ShoppingListChange.itemsAdded(shoppingList.getShoppingListId(), null, inserted));
+            log.info("{} itens críticos adicionados a lista do usuário ID {}", inserted, user.getUserId());
+        }
+
+        return inserted;
+    }
+
+    @Transactional
     public void updateShoppingListItem(Long shoppingListItemId, User user, ShoppingListItemUpdateRequest dto) {
         ShoppingListItem item = shoppingListItemRepository
-                .findByShoppingListItemIdAndShoppingList_User(shoppingListItemId, user)
+                .findActiveByIdAndUser(shoppingListItemId, user)
                 .orElseThrow(() -> new BadRequestException("SL1004", "Item inexistente"));
 
+        if (applyUpdate(item, dto)) {
+            shoppingListItemRepository.save(item);
+            shoppingListRepository.incrementVersion(item.getShoppingList().getShoppingListId());
+            publish(user, ShoppingListChange.itemUpdated(item));
+            log.info("Item ID {} atualizado para usuário ID {}", shoppingListItemId, user.getUserId());
+        }
+    }
+
+    @Transactional
+    public int updateShoppingListItems(User user, List<ShoppingListItemBulkUpdateEntry> entries) {
+        Map<Long, ShoppingListItemUpdateRequest> updatesById = new LinkedHashMap<>();
+
+        for (ShoppingListItemBulkUpdateEntry entry : entries) {
+            updatesById.put(entry.shoppingListItemId(), entry.toUpdateRequest());
+        }
+
+        List<ShoppingListItem> items = shoppingListItemRepository.findAllActiveByIdsAndUser(updatesById.keySet(), user);
+
+        if (items.size() != updatesById.size()) {
+            log.warn(
+                    "Atualização de itens em lote rejeitada. UserId={}, Solicitados={}, Encontrados={}",
+                    user.getUserId(),
+                    updatesById.size(),
+                    items.size()
+            );
+            throw new BadRequestException("SL1004", "Item inexistente");
+        }
+
+        List<ShoppingListItem> changed = new ArrayList<>(items.size());
+        Set<Long> shoppingListIds = new HashSet<>();
+
+        for (ShoppingListItem item : items) {
+            if (applyUpdate(item, updatesById.get(item.getShoppingListItemId()))) {
+                changed.add(item);
+                shoppingListIds.add(item.getShoppingList().getShoppingListId());
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        shoppingListItemRepository.saveAll(changed);
+        shoppingListIds.forEach(shoppingListRepository::incrementVersion);
+        changed.forEach(item -> publish(user, ShoppingListChange.itemUpdated(item)));
+
+        log.info("Itens da lista atualizados em lote. UserId={}, Itens={}", user.getUserId(), changed.size());
+
+        return changed.size();
+    }
+
+    private boolean applyUpdate(ShoppingListItem item, ShoppingListItemUpdateRequest dto) {
         boolean changed = false;
 
         if (
@@ -103,21 +262,51 @@ public class ShoppingListService {
 
         if (changed) {
             item.recalculateSubtotal();
-            shoppingListItemRepository.save(item);
-            log.info("Item ID {} atualizado para usuário ID {}", shoppingListItemId, user.getUserId());
         }
+
+        return changed;
     }
 
+    @Transactional
     public void deleteShoppingListItem(Long shoppingListItemId, User user) {
         ShoppingListItem item = shoppingListItemRepository
-                .findByShoppingListItemIdAndShoppingList_User(shoppingListItemId, user)
+                .findActiveByIdAndUser(shoppingListItemId, user)
                 .orElseThrow(() -> new BadRequestException("SL1005", "Item inexistente"));
 
         shoppingListItemRepository.delete(item);
+        shoppingListRepository.incrementVersion(item.getShoppingList().getShoppingListId());
+        publish(user, ShoppingListChange.itemRemoved(item));
 
         log.info("Item ID {} removido da lista do usuário ID {}", shoppingListItemId, user.getUserId());
     }
 
+    /*
+     * A resposta da lista traz o nome do item do inventário, então renomear um item que está
+     * na lista ativa precisa mudar a versão (ETag) e avisar os clientes conectados.
+     */
+    @Transactional
+    public void onItemRenamed(Item item, User user) {
+        shoppingListItemRepository.findActiveByItemAndUser(item, user).ifPresent(shoppingListItem -> {
+            shoppingListRepository.incrementVersion(shoppingListItem.getShoppingList().getShoppingListId());
+            publish(user, ShoppingListChange.itemUpdated(shoppingListItem));
+        });
+    }
+
+    @Transactional
+    public void removeItemFromActiveShoppingList(Item item, User user) {
+        shoppingListItemRepository.findActiveByItemAndUser(item, user).ifPresent(shoppingListItem -> {
+            shoppingListItemRepository.delete(shoppingListItem);
+            shoppingListRepository.incrementVersion(shoppingListItem.getShoppingList().getShoppingListId());
+            publish(user, ShoppingListChange.itemRemoved(shoppingListItem));
+
+            log.info("Item ID {} removido da lista ativa do usuário ID {} após exclusão", item.getItemId(), user.getUserId());
+        });
+    }
+
+    private void publish(User user, ShoppingListChange change) {
+        eventPublisher.publishEvent(new ShoppingListChangedEvent(user.getUserId(), change));
+    }
+
     private ShoppingList getActiveShoppingList(User user) {
         return shoppingListRepository
                 .findByUserAndActiveTrue(user)
@@ -133,6 +322,7 @@ public class ShoppingListService {
         return new ShoppingListResponse(
                 shoppingList.getShoppingListId(),
                 shoppingList.isActive(),
+                shoppingList.getVersion(),
                 items
         );
     }
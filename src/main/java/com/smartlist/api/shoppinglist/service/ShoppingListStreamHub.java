@@ -0,0 +1,240 @@
+package com.smartlist.api.shoppinglist.service;
+
+import com.smartlist.api.infra.config.ShoppingListStreamProperties;
+import com.smartlist.api.infra.security.CredentialsRevokedEvent;
+import com.smartlist.api.shoppinglist.event.ShoppingListChangedEvent;
+import com.smartlist.api.user.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribui as mudanças da lista de compras para as conexões SSE de cada usuário. Cada conexão tem
+ * um buffer limitado esvaziado por uma virtual thread própria, então quem publica nunca espera por
+ * um cliente lento; se o buffer enche, a conexão é encerrada e o cliente deve reconectar e recarregar.
+ * A conexão não dura além do access token que a abriu, cada usuário tem um número máximo de conexões
+ * (a mais antiga sai primeiro) e todas são encerradas quando as credenciais do usuário são revogadas.
+ */
+@Slf4j
+@Component
+public class ShoppingListStreamHub {
+
+    private final ShoppingListStreamProperties properties;
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter slowConsumerEvictions;
+    private final Counter connectionLimitEvictions;
+
+    public ShoppingListStreamHub(ShoppingListStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.slowConsumerEvictions = Counter.builder("shoppinglist.stream.evictions")
+                .tag("reason", "slow_consumer")
+                .register(meterRegistry);
+        this.connectionLimitEvictions = Counter.builder("shoppinglist.stream.evictions")
+                .tag("reason", "connection_limit")
+                .register(meterRegistry);
+        meterRegistry.gauge("shoppinglist.stream.subscribers", subscriberCount);
+    }
+
+    public SseEmitter subscribe(User user, Instant tokenExpiresAt) {
+        Long userId = user.getUserId();
+        SseEmitter emitter = createEmitter(timeout(tokenExpiresAt));
+        Subscriber subscriber = new Subscriber(
+                userId,
+                sequence.incrementAndGet(),
+                emitter,
+                new ArrayBlockingQueue<>(properties.getBufferSize())
+        );
+
+        Set<Subscriber> subscribers = subscribersByUser.compute(userId, (id, current) -> {
+            Set<Subscriber> updated = current != null ? current : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        evictOldest(userId, subscribers);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscriber.drainer = Thread.ofVirtual()
+                .name("shopping-list-stream-" + userId)
+                .start(() -> drain(subscriber));
+
+        log.debug("Conexão de stream da lista aberta. UserId={}", userId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShoppingListChanged(ShoppingListChangedEvent event) {
+        Set<Subscriber> subscribers = subscribersByUser.get(event.userId());
+
+        if (subscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, SseEmitter.event()
+                    .name(event.change().type().name())
+                    .data(event.change(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsRevoked(CredentialsRevokedEvent event) {
+        Set<Subscriber> subscribers = subscribersByUser.get(event.userId());
+
+        if (subscribers == null) {
+            return;
+        }
+
+        int closed = 0;
+
+        for (Subscriber subscriber : subscribers) {
+            if (close(subscriber)) {
+                closed++;
+            }
+        }
+
+        log.info("Conexões de stream encerradas após revogação de credenciais. UserId={}, Conexoes={}", event.userId(), closed);
+    }
+
+    @Scheduled(fixedDelayString = "${shopping-list.stream.heartbeat-interval:25s}")
+    public void sendHeartbeats() {
+        subscribersByUser.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> offer(subscriber, SseEmitter.event().comment("heartbeat")))
+        );
+    }
+
+    SseEmitter createEmitter(Duration timeout) {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /*
+     * O emitter expira junto com o access token: ao reconectar o cliente passa de novo pelo filtro
+     * JWT, que recusa tokens vencidos ou revogados.
+     */
+    private Duration timeout(Instant tokenExpiresAt) {
+        Duration timeout = properties.getTimeout();
+
+        if (tokenExpiresAt == null) {
+            return timeout;
+        }
+
+        Duration remaining = Duration.between(Instant.now(), tokenExpiresAt);
+
+        if (remaining.isNegative() || remaining.isZero()) {
+            return Duration.ofMillis(1);
+        }
+
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    private void evictOldest(Long userId, Set<Subscriber> subscribers) {
+        int limit = Math.max(properties.getMaxConnectionsPerUser(), 1);
+
+        while (subscribers.size() > limit) {
+            Subscriber oldest = subscribers.stream()
+                    .min(Comparator.comparingLong(subscriber -> subscriber.sequence))
+                    .orElse(null);
+
+            if (oldest == null) {
+                return;
+            }
+
+            if (close(oldest)) {
+                connectionLimitEvictions.increment();
+                log.debug("Conexão de stream mais antiga encerrada por limite. UserId={}, Limite={}", userId, limit);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event) && remove(subscriber)) {
+            slowConsumerEvictions.increment();
+            log.warn("Conexão de stream lenta encerrada. UserId={}, Buffer={}", subscriber.userId, properties.getBufferSize());
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed.get()) {
+                subscriber.emitter.send(subscriber.queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexão de stream da lista encerrada pelo cliente. UserId={}", subscriber.userId);
+            remove(subscriber);
+        }
+    }
+
+    private boolean close(Subscriber subscriber) {
+        if (!remove(subscriber)) {
+            return false;
+        }
+
+        subscriber.emitter.complete();
+        return true;
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+
+        subscribersByUser.computeIfPresent(subscriber.userId, (userId, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+
+        Thread drainer = subscriber.drainer;
+        if (drainer != null && drainer != Thread.currentThread()) {
+            drainer.interrupt();
+        }
+
+        return true;
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final long sequence;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private volatile Thread drainer;
+
+        private Subscriber(Long userId, long sequence, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.userId = userId;
+            this.sequence = sequence;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -13,14 +13,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "shopping_list_item")
+@Table(
+        name = "shopping_list_item",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_shopping_list_item_shopping_list_item",
+                columnNames = {"shopping_list_id", "item_id"}
+        )
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ShoppingListItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shopping_list_item_id_generator")
+    @SequenceGenerator(name = "shopping_list_item_id_generator", sequenceName = "shopping_list_item_shopping_list_item_id_seq", allocationSize = 50)
     @Column(name = "shopping_list_item_id")
     private Long shoppingListItemId;
 
@@ -54,8 +61,8 @@ public class ShoppingListItem {
         sli.setItem(item);
         sli.setShoppingList(shoppingList);
         sli.setPurchasedQuantity(BigDecimal.ZERO);
-        sli.setUnitaryPrice(null);
-        sli.recalculateSubtotal();
+        sli.setUnitaryPrice(item.getPrice());
+        sli.setSubtotal(BigDecimal.ZERO);
         return sli;
     }
 
@@ -6,9 +6,13 @@ import com.smartlist.api.shoppinglistitem.dto.ShoppingListItemResponse;
 import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
 import com.smartlist.api.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +33,100 @@ public interface ShoppingListItemRepository extends JpaRepository<ShoppingListIt
     List<ShoppingListItemResponse> findItemsByShoppingListId(
             @Param("shoppingListId") Long shoppingListId
     );
-    boolean existsByShoppingListAndItem(ShoppingList shoppingList, Item item);
-    Optional<ShoppingListItem> findByShoppingListItemIdAndShoppingList_User(Long shoppingListItemId, User user);
+
+    @Query("""
+       SELECT sli
+       FROM ShoppingListItem sli
+       JOIN FETCH sli.item
+       WHERE sli.shoppingList = :shoppingList
+       """)
+    List<ShoppingListItem> findAllWithItemByShoppingList(@Param("shoppingList") ShoppingList shoppingList);
+
+    /*
+     * Edições só valem para a lista ativa: o spending_rollup é gravado na finalização e
+     * alterar itens de uma lista finalizada o deixaria divergente.
+     */
+    @Query("""
+       SELECT sli
+       FROM ShoppingListItem sli
+       JOIN FETCH sli.shoppingList sl
+       WHERE sli.shoppingListItemId = :shoppingListItemId
+       AND sl.user = :user
+       AND sl.active = true
+       """)
+    Optional<ShoppingListItem> findActiveByIdAndUser(
+            @Param("shoppingListItemId") Long shoppingListItemId,
+            @Param("user") User user
+    );
+
+    @Query("""
+       SELECT sli
+       FROM ShoppingListItem sli
+       JOIN FETCH sli.shoppingList sl
+       WHERE sli.shoppingListItemId IN :shoppingListItemIds
+       AND sl.user = :user
+       AND sl.active = true
+       """)
+    List<ShoppingListItem> findAllActiveByIdsAndUser(
+            @Param("shoppingListItemIds") Collection<Long> shoppingListItemIds,
+            @Param("user") User user
+    );
+
+    @Query("""
+       SELECT sli
+       FROM ShoppingListItem sli
+       JOIN FETCH sli.shoppingList sl
+       WHERE sli.item = :item
+       AND sl.user = :user
+       AND sl.active = true
+       """)
+    Optional<ShoppingListItem> findActiveByItemAndUser(@Param("item") Item item, @Param("user") User user);
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO shopping_list_item (shopping_list_item_id, shopping_list_id, item_id, purchased_quantity, unitary_price, subtotal, created_at, updated_at)
+       VALUES (nextval('shopping_list_item_shopping_list_item_id_seq'), :shoppingListId, :itemId, 0, :price, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+       ON CONFLICT DO NOTHING
+       """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("shoppingListId") Long shoppingListId,
+            @Param("itemId") Long itemId,
+            @Param("price") BigDecimal price
+    );
+
+    /*
+     * Mesma regra de InventoryService.calculateVirtualStock/isCritical, avaliada no banco:
+     * estoque virtual = max(quantity - avgConsumptionPerDay * max(dias, 0), 0)
+     * limite crítico  = avgConsumptionPerDay * coalesce(override do item, dias do usuário)
+     * Os dias saem de um intervalo entre timestamps porque date - date devolve inteiro no
+     * PostgreSQL e INTERVAL no H2. Itens que já estão na lista caem no índice único
+     * uk_shopping_list_item_shopping_list_item, assim como em insertIfAbsent, e duas
+     * execuções concorrentes não duplicam linhas.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO shopping_list_item (shopping_list_item_id, shopping_list_id, item_id, purchased_quantity, unitary_price, subtotal, created_at, updated_at)
+       SELECT nextval('shopping_list_item_shopping_list_item_id_seq'), :shoppingListId, i.item_id, 0, i.price, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+       FROM item i
+       JOIN users u ON u.user_id = i.user_id
+       WHERE i.user_id = :userId
+       AND (
+           CASE
+               WHEN i.last_stock_update IS NULL THEN i.quantity
+               ELSE GREATEST(
+                   i.quantity - i.avg_consumption_per_day * GREATEST(
+                       EXTRACT(DAY FROM CAST(:today AS TIMESTAMP) - CAST(i.last_stock_update AS TIMESTAMP)),
+                       0
+                   ),
+                   0
+               )
+           END
+       ) <= i.avg_consumption_per_day * COALESCE(i.critical_quantity_days_override, u.critical_quantity_days)
+       ON CONFLICT DO NOTHING
+       """, nativeQuery = true)
+    int insertCriticalItems(
+            @Param("shoppingListId") Long shoppingListId,
+            @Param("userId") Long userId,
+            @Param("today") LocalDate today
+    );
 }
@@ -43,6 +43,9 @@ public class User {
     @Column(name = "critical_quantity_days")
     private Integer criticalQuantityDays;
 
+    @Column(name = "credentials_version", nullable = false)
+    private int credentialsVersion;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
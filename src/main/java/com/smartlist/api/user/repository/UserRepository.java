@@ -1,12 +1,27 @@
 package com.smartlist.api.user.repository;
 
 import com.smartlist.api.user.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.credentialsVersion FROM User u WHERE u.userId = :userId")
+    Optional<Integer> findCredentialsVersion(@Param("userId") Long userId);
+
+    @Query("SELECT MIN(u.userId) FROM User u")
+    Long findMinUserId();
+
+    @Query("SELECT MAX(u.userId) FROM User u")
+    Long findMaxUserId();
+
+    List<User> findByUserIdGreaterThanAndUserIdLessThanEqualOrderByUserIdAsc(Long afterUserId, Long lastUserId, Limit limit);
 }
@@ -2,13 +2,13 @@ package com.smartlist.api.user.service;
 
 import com.smartlist.api.exceptions.EmailAlreadyExistsException;
 import com.smartlist.api.exceptions.PhoneNumberRequiredException;
+import com.smartlist.api.infra.security.PasswordHasher;
 import com.smartlist.api.user.dto.UserRegisterRequest;
 import com.smartlist.api.user.enums.NotificationPreference;
 import com.smartlist.api.user.enums.ThemePreference;
 import com.smartlist.api.user.model.User;
 import com.smartlist.api.user.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -17,12 +17,12 @@ import java.util.Optional;
 @Service
 public class UserService {
     private final PasswordStrengthService passwordStrengthService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final UserRepository userRepository;
 
-    public UserService(PasswordStrengthService passwordStrengthService, PasswordEncoder passwordEncoder, UserRepository userRepository) {
+    public UserService(PasswordStrengthService passwordStrengthService, PasswordHasher passwordHasher, UserRepository userRepository) {
         this.passwordStrengthService = passwordStrengthService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.userRepository = userRepository;
     }
 
@@ -54,7 +54,7 @@ public class UserService {
 
         User user = new User();
         user.setEmail(dto.email());
-        user.setPassword(passwordEncoder.encode(dto.password()));
+        user.setPassword(passwordHasher.encode(dto.password()));
         user.setNotificationPreference(dto.notificationPreference()); // adicionar validação aqui depois
         user.setThemePreference(ThemePreference.SYSTEM);
 
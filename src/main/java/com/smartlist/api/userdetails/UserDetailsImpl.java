@@ -4,18 +4,66 @@ import com.smartlist.api.user.model.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Supplier;
 
 public class UserDetailsImpl implements UserDetails {
 
-    private final User user;
+    private final Long userId;
+    private final String email;
+    private final String password;
+    private final Instant tokenExpiresAt;
+    private final Supplier<User> loader;
+    private User user;
 
     public UserDetailsImpl(User user) {
-        this.user = user;
+        this(user.getUserId(), user.getEmail(), user.getPassword(), null, () -> user);
+    }
+
+    private UserDetailsImpl(Long userId, String email, String password, Instant tokenExpiresAt, Supplier<User> loader) {
+        this.userId = userId;
+        this.email = email;
+        this.password = password;
+        this.tokenExpiresAt = tokenExpiresAt;
+        this.loader = loader;
+    }
+
+    /*
+     * Principal montado a partir das claims do access token. A entidade só é buscada se algum
+     * endpoint chamar getUser().
+     */
+    public static UserDetailsImpl fromClaims(Long userId, String email, Instant tokenExpiresAt, Supplier<User> loader) {
+        return new UserDetailsImpl(userId, email, null, tokenExpiresAt, loader);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /*
+     * Expiração do access token que autenticou a requisição; nulo fora da autenticação por JWT.
+     */
+    public Instant getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    /*
+     * Usuário com apenas id e email preenchidos, suficiente para as consultas filtradas por usuário.
+     */
+    public User getUserReference() {
+        User reference = new User();
+        reference.setUserId(userId);
+        reference.setEmail(email);
+        return reference;
     }
 
     public User getUser() {
+        if (user == null) {
+            user = loader.get();
+        }
+
         return user;
     }
 
@@ -26,12 +74,12 @@ public class UserDetailsImpl implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
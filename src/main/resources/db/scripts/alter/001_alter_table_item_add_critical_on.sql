@@ -0,0 +1,20 @@
+ALTER TABLE item ADD COLUMN IF NOT EXISTS critical_on DATE;
+
+WITH item_critical_days AS (
+    SELECT
+        i.item_id,
+        COALESCE(i.critical_quantity_days_override, u.critical_quantity_days) AS critical_days
+    FROM item i
+    JOIN users u ON u.user_id = i.user_id
+)
+UPDATE item i
+SET critical_on = CASE
+    WHEN d.critical_days IS NULL THEN NULL
+    WHEN i.last_stock_update IS NULL OR i.avg_consumption_per_day = 0 THEN
+        CASE WHEN i.quantity <= i.avg_consumption_per_day * d.critical_days THEN CURRENT_DATE END
+    WHEN CEIL(i.quantity / i.avg_consumption_per_day)::INT - d.critical_days <= 0 THEN
+        LEAST(i.last_stock_update, CURRENT_DATE)
+    ELSE i.last_stock_update + (CEIL(i.quantity / i.avg_consumption_per_day)::INT - d.critical_days)
+END
+FROM item_critical_days d
+WHERE d.item_id = i.item_id;
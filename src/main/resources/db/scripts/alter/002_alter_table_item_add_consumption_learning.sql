@@ -0,0 +1,4 @@
+ALTER TABLE item ADD COLUMN IF NOT EXISTS adaptive_consumption BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE item ADD COLUMN IF NOT EXISTS learned_consumption_per_day NUMERIC(10, 3);
+ALTER TABLE item ADD COLUMN IF NOT EXISTS consumption_samples INT NOT NULL DEFAULT 0;
+ALTER TABLE item ADD COLUMN IF NOT EXISTS last_purchased_on DATE;
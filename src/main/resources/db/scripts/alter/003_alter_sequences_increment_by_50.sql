@@ -0,0 +1,5 @@
+ALTER SEQUENCE category_category_id_seq INCREMENT BY 50;
+ALTER SEQUENCE item_item_id_seq INCREMENT BY 50;
+ALTER SEQUENCE shopping_list_shopping_list_id_seq INCREMENT BY 50;
+ALTER SEQUENCE shopping_list_item_shopping_list_item_id_seq INCREMENT BY 50;
+ALTER SEQUENCE password_reset_token_password_reset_token_id_seq INCREMENT BY 50;
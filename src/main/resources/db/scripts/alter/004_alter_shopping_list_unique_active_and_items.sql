@@ -0,0 +1,20 @@
+UPDATE shopping_list sl
+SET active = FALSE
+WHERE sl.active
+AND EXISTS (
+    SELECT 1
+    FROM shopping_list newer
+    WHERE newer.user_id = sl.user_id
+    AND newer.active
+    AND newer.shopping_list_id > sl.shopping_list_id
+);
+
+DELETE FROM shopping_list_item sli
+USING shopping_list_item kept
+WHERE kept.shopping_list_id = sli.shopping_list_id
+AND kept.item_id = sli.item_id
+AND kept.shopping_list_item_id < sli.shopping_list_item_id;
+
+DROP INDEX IF EXISTS idx_shopping_list_active_user;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_shopping_list_active_user ON shopping_list (user_id) WHERE active;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_shopping_list_item_shopping_list_item ON shopping_list_item (shopping_list_id, item_id);
@@ -0,0 +1 @@
+ALTER TABLE shopping_list ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+ALTER TABLE shopping_list ADD COLUMN IF NOT EXISTS finalized_at TIMESTAMP;
+
+UPDATE shopping_list
+SET finalized_at = updated_at
+WHERE active = FALSE
+AND finalized_at IS NULL;
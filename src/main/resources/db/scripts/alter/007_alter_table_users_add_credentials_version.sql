@@ -0,0 +1 @@
+ALTER TABLE users ADD COLUMN IF NOT EXISTS credentials_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+ALTER TABLE refresh_token ADD COLUMN IF NOT EXISTS token_digest BYTEA;
+
+UPDATE refresh_token
+SET token_digest = sha256(convert_to(token, 'UTF8'))
+WHERE token_digest IS NULL;
+
+ALTER TABLE refresh_token ALTER COLUMN token_digest SET NOT NULL;
+
+ALTER TABLE refresh_token DROP CONSTRAINT IF EXISTS refresh_token_token_key;
+
+ALTER TABLE refresh_token DROP COLUMN IF EXISTS token;
@@ -0,0 +1 @@
+ALTER TABLE item ADD COLUMN IF NOT EXISTS stock_after_last_purchase NUMERIC(10, 3);
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX uk_shopping_list_active_user ON shopping_list (user_id) WHERE active;
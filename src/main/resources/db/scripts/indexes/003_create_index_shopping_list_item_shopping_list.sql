@@ -0,0 +1 @@
+CREATE INDEX idx_shopping_list_item_shopping_list ON shopping_list_item (shopping_list_id);
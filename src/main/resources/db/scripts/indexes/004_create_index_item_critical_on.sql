@@ -0,0 +1 @@
+CREATE INDEX idx_item_critical_on ON item (critical_on) WHERE critical_on IS NOT NULL;
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX uk_shopping_list_item_shopping_list_item ON shopping_list_item (shopping_list_id, item_id);
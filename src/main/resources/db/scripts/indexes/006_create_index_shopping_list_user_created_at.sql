@@ -0,0 +1 @@
+CREATE INDEX idx_shopping_list_user_created_at ON shopping_list (user_id, created_at DESC, shopping_list_id DESC);
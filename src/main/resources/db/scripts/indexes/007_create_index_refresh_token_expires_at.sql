@@ -0,0 +1 @@
+CREATE INDEX idx_refresh_token_expires_at ON refresh_token (expires_at);
@@ -0,0 +1 @@
+CREATE INDEX idx_password_reset_token_status_expires_at ON password_reset_token (status, expires_at);
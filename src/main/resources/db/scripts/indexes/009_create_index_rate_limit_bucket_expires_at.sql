@@ -0,0 +1 @@
+CREATE INDEX idx_rate_limit_bucket_expires_at ON rate_limit_bucket (expires_at);
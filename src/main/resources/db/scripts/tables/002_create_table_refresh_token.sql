@@ -1,7 +1,7 @@
 CREATE TABLE IF NOT EXISTS refresh_token (
     refresh_token_id VARCHAR(64) PRIMARY KEY,
     user_id BIGINT NOT NULL,
-    token TEXT NOT NULL UNIQUE,
+    token_digest BYTEA NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     expires_at TIMESTAMP NOT NULL,
@@ -10,4 +10,6 @@ CREATE TABLE IF NOT EXISTS password_reset_token (
     user_agent TEXT NOT NULL,
 
     CONSTRAINT chkStatus CHECK (status IN ('PENDING', 'USED', 'EXPIRED'))
-);
\ No newline at end of file
+);
+
+ALTER SEQUENCE password_reset_token_password_reset_token_id_seq INCREMENT BY 50;
\ No newline at end of file
@@ -6,4 +6,6 @@ CREATE TABLE IF NOT EXISTS category (
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
 
     CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(user_id)
-);
\ No newline at end of file
+);
+
+ALTER SEQUENCE category_category_id_seq INCREMENT BY 50;
\ No newline at end of file
@@ -12,9 +12,17 @@ CREATE TABLE IF NOT EXISTS item (
     in_shopping_list BOOLEAN DEFAULT FALSE,
     last_stock_update DATE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     critical_quantity_days_override INT DEFAULT 5,
+    critical_on DATE,
+    adaptive_consumption BOOLEAN NOT NULL DEFAULT FALSE,
+    learned_consumption_per_day NUMERIC(10, 3),
+    consumption_samples INT NOT NULL DEFAULT 0,
+    last_purchased_on DATE,
+    stock_after_last_purchase NUMERIC(10, 3),
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
 
     CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(user_id),
     CONSTRAINT fk_category FOREIGN KEY (category_id) REFERENCES category(category_id)
-);
\ No newline at end of file
+);
+
+ALTER SEQUENCE item_item_id_seq INCREMENT BY 50;
\ No newline at end of file
@@ -2,8 +2,12 @@ CREATE TABLE IF NOT EXISTS shopping_list (
     shopping_list_id BIGSERIAL PRIMARY KEY,
     user_id BIGINT NOT NULL,
     active BOOLEAN,
+    version BIGINT NOT NULL DEFAULT 0,
+    finalized_at TIMESTAMP,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
 
     CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(user_id)
-);
\ No newline at end of file
+);
+
+ALTER SEQUENCE shopping_list_shopping_list_id_seq INCREMENT BY 50;
\ No newline at end of file
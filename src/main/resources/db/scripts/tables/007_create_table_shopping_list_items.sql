@@ -10,4 +10,6 @@ CREATE TABLE IF NOT EXISTS shopping_list_item (
 
     CONSTRAINT fk_shopping_list FOREIGN KEY (shopping_list_id) REFERENCES shopping_list(shopping_list_id),
     CONSTRAINT fk_item FOREIGN KEY (item_id) REFERENCES item(item_id)
-);
\ No newline at end of file
+);
+
+ALTER SEQUENCE shopping_list_item_shopping_list_item_id_seq INCREMENT BY 50;
\ No newline at end of file
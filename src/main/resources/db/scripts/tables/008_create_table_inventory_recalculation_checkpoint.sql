@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS inventory_recalculation_checkpoint (
+    partition_index INT PRIMARY KEY,
+    range_start BIGINT NOT NULL,
+    range_end BIGINT NOT NULL,
+    last_user_id BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    run_started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS spending_rollup (
+    user_id BIGINT NOT NULL,
+    reference_month DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    total_spent NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    item_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_spending_rollup PRIMARY KEY (user_id, reference_month, category_id),
+    CONSTRAINT fk_spending_rollup_user FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
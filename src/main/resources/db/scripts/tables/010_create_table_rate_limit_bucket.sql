@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+    bucket_key VARCHAR(200) PRIMARY KEY,
+    window_index BIGINT NOT NULL,
+    hits INT NOT NULL,
+    previous_hits INT NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
@@ -5,12 +5,19 @@ import com.smartlist.api.auth.dto.TokenResponse;
 import com.smartlist.api.auth.service.AuthService;
 import com.smartlist.api.exceptions.InvalidCredentialsException;
 import com.smartlist.api.exceptions.InvalidJwtException;
+import com.smartlist.api.exceptions.ServiceUnavailableException;
+import com.smartlist.api.exceptions.TooManyRequestsException;
 import com.smartlist.api.refreshtoken.model.RefreshToken;
 import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
+import com.smartlist.api.refreshtoken.service.RefreshTokenDigest;
+import com.smartlist.api.infra.security.JwtFailure;
 import com.smartlist.api.infra.security.JwtUtils;
+import com.smartlist.api.infra.security.JwtVerification;
+import com.smartlist.api.infra.security.PasswordHasher;
+import com.smartlist.api.infra.security.PrincipalCache;
+import com.smartlist.api.infra.security.VerifiedToken;
 import com.smartlist.api.user.model.User;
 import com.smartlist.api.user.repository.UserRepository;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,8 +27,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,11 +49,14 @@ public class AuthServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @Mock
     private jakarta.servlet.http.HttpServletResponse response;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     private User user;
     private LoginRequest loginRequest;
@@ -64,20 +74,71 @@ public class AuthServiceTest {
     @Test
     void shouldLoginSuccessfully() {
         when(userRepository.findByEmail(loginRequest.email())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(loginRequest.password(), user.getPassword())).thenReturn(true);
-        when(jwtUtils.generateAccessToken(user.getEmail())).thenReturn("access-token");
+        when(passwordHasher.matches(loginRequest.password(), user.getPassword())).thenReturn(true);
+        when(jwtUtils.generateAccessToken(user)).thenReturn("access-token");
         when(jwtUtils.generateRefreshToken(user.getEmail())).thenReturn("refresh-token");
 
-        Claims claims = mock(Claims.class);
-        when(claims.getId()).thenReturn("claim-id");
-        when(claims.getExpiration()).thenReturn(java.util.Date.from(java.time.Instant.now().plusSeconds(3600)));
-        when(jwtUtils.getClaimsFromToken("refresh-token")).thenReturn(claims);
+        when(jwtUtils.verify("refresh-token")).thenReturn(verified("refresh-token"));
 
         TokenResponse responseDto = authService.login(loginRequest, response);
 
         assertEquals("access-token", responseDto.accessToken());
         verify(refreshTokenRepository).save(any());
         verify(response).setHeader(eq(HttpHeaders.SET_COOKIE), contains("refreshToken=refresh-token"));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRehashPasswordOnLoginWhenCostChanged() {
+        when(userRepository.findByEmail(loginRequest.email())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(loginRequest.password(), "encodedPassword")).thenReturn(true);
+        when(passwordHasher.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode(loginRequest.password())).thenReturn("rehashedPassword");
+        when(jwtUtils.generateAccessToken(user)).thenReturn("access-token");
+        when(jwtUtils.generateRefreshToken(user.getEmail())).thenReturn("refresh-token");
+        when(jwtUtils.verify("refresh-token")).thenReturn(verified("refresh-token"));
+
+        authService.login(loginRequest, response);
+
+        assertEquals("rehashedPassword", user.getPassword());
+        verify(userRepository).save(user);
+        verify(principalCache, never()).invalidate(any());
+    }
+
+    @Test
+    void shouldLoginWithoutRehashWhenHasherIsBusy() {
+        when(userRepository.findByEmail(loginRequest.email())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(loginRequest.password(), "encodedPassword")).thenReturn(true);
+        when(passwordHasher.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode(loginRequest.password()))
+                .thenThrow(new ServiceUnavailableException("S5031", "Servidor ocupado. Tente novamente em instantes."));
+        when(jwtUtils.generateAccessToken(user)).thenReturn("access-token");
+        when(jwtUtils.generateRefreshToken(user.getEmail())).thenReturn("refresh-token");
+        when(jwtUtils.verify("refresh-token")).thenReturn(verified("refresh-token"));
+
+        TokenResponse responseDto = authService.login(loginRequest, response);
+
+        assertEquals("access-token", responseDto.accessToken());
+        assertEquals("encodedPassword", user.getPassword());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldLoginWithoutRehashWhenHasherQueueIsFull() {
+        when(userRepository.findByEmail(loginRequest.email())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(loginRequest.password(), "encodedPassword")).thenReturn(true);
+        when(passwordHasher.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode(loginRequest.password()))
+                .thenThrow(new TooManyRequestsException("S4291", "Muitas requisições. Tente novamente em instantes."));
+        when(jwtUtils.generateAccessToken(user)).thenReturn("access-token");
+        when(jwtUtils.generateRefreshToken(user.getEmail())).thenReturn("refresh-token");
+        when(jwtUtils.verify("refresh-token")).thenReturn(verified("refresh-token"));
+
+        TokenResponse responseDto = authService.login(loginRequest, response);
+
+        assertEquals("access-token", responseDto.accessToken());
+        assertEquals("encodedPassword", user.getPassword());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -95,7 +156,7 @@ public class AuthServiceTest {
     @Test
     void shouldThrowExceptionWhenPasswordIncorrect() {
         when(userRepository.findByEmail(loginRequest.email())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(loginRequest.password(), user.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(loginRequest.password(), user.getPassword())).thenReturn(false);
 
         InvalidCredentialsException ex = assertThrows(
                 InvalidCredentialsException.class,
@@ -112,20 +173,17 @@ public class AuthServiceTest {
         when(request.getCookies()).thenReturn(new Cookie[]{cookie});
 
         RefreshToken oldToken = new RefreshToken();
-        oldToken.setToken("old-refresh-token");
+        oldToken.setRefreshTokenId("old-refresh-token-id");
+        oldToken.setTokenDigest(RefreshTokenDigest.of("old-refresh-token"));
         oldToken.setUser(user);
         oldToken.setUsed(false);
 
-        when(jwtUtils.isValidToken("old-refresh-token")).thenReturn(true);
-        when(refreshTokenRepository.findByToken("old-refresh-token")).thenReturn(Optional.of(oldToken));
+        when(jwtUtils.verify("old-refresh-token")).thenReturn(verified("old-refresh-token"));
+        when(refreshTokenRepository.findById("old-refresh-token-id")).thenReturn(Optional.of(oldToken));
 
-        when(jwtUtils.generateAccessToken(user.getEmail())).thenReturn("new-access-token");
+        when(jwtUtils.generateAccessToken(user)).thenReturn("new-access-token");
         when(jwtUtils.generateRefreshToken(user.getEmail())).thenReturn("new-refresh-token");
-
-        Claims claims = mock(Claims.class);
-        when(claims.getId()).thenReturn("claim-id");
-        when(claims.getExpiration()).thenReturn(java.util.Date.from(java.time.Instant.now().plusSeconds(3600)));
-        when(jwtUtils.getClaimsFromToken(anyString())).thenReturn(claims); // aqui evita o erro
+        when(jwtUtils.verify("new-refresh-token")).thenReturn(verified("new-refresh-token"));
 
         String newAccessToken = authService.refreshToken(request, response);
 
@@ -149,6 +207,46 @@ public class AuthServiceTest {
         assertEquals("A1002", ex.getCode());
     }
 
+    @Test
+    void shouldThrowExceptionWhenRefreshTokenExpired() {
+        Cookie cookie = new Cookie("refreshToken", "expired-refresh-token");
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(jwtUtils.verify("expired-refresh-token")).thenReturn(JwtVerification.rejected(JwtFailure.EXPIRED));
+
+        InvalidJwtException ex = assertThrows(
+                InvalidJwtException.class,
+                () -> authService.refreshToken(request, response)
+        );
+
+        assertEquals("A1002", ex.getCode());
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenStoredDigestDoesNotMatch() {
+        Cookie cookie = new Cookie("refreshToken", "forged-refresh-token");
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+
+        RefreshToken storedToken = new RefreshToken();
+        storedToken.setRefreshTokenId("forged-refresh-token-id");
+        storedToken.setTokenDigest(RefreshTokenDigest.of("original-refresh-token"));
+        storedToken.setUser(user);
+
+        when(jwtUtils.verify("forged-refresh-token")).thenReturn(verified("forged-refresh-token"));
+        when(refreshTokenRepository.findById("forged-refresh-token-id")).thenReturn(Optional.of(storedToken));
+
+        InvalidJwtException ex = assertThrows(
+                InvalidJwtException.class,
+                () -> authService.refreshToken(request, response)
+        );
+
+        assertEquals("A1002", ex.getCode());
+        assertFalse(storedToken.isUsed());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenRefreshTokenReused() {
         Cookie cookie = new Cookie("refreshToken", "old-refresh-token");
@@ -156,12 +254,13 @@ public class AuthServiceTest {
         when(request.getCookies()).thenReturn(new Cookie[]{cookie});
 
         RefreshToken oldToken = new RefreshToken();
-        oldToken.setToken("old-refresh-token");
+        oldToken.setRefreshTokenId("old-refresh-token-id");
+        oldToken.setTokenDigest(RefreshTokenDigest.of("old-refresh-token"));
         oldToken.setUser(user);
         oldToken.setUsed(true);
 
-        when(jwtUtils.isValidToken("old-refresh-token")).thenReturn(true);
-        when(refreshTokenRepository.findByToken("old-refresh-token")).thenReturn(Optional.of(oldToken));
+        when(jwtUtils.verify("old-refresh-token")).thenReturn(verified("old-refresh-token"));
+        when(refreshTokenRepository.findById("old-refresh-token-id")).thenReturn(Optional.of(oldToken));
 
         InvalidJwtException ex = assertThrows(
                 InvalidJwtException.class,
@@ -170,6 +269,9 @@ public class AuthServiceTest {
 
         assertEquals("A1003", ex.getCode());
         verify(refreshTokenRepository).invalidateAllByUser(user);
+        verify(userRepository).save(user);
+        verify(principalCache).invalidate(user.getUserId());
+        assertEquals(1, user.getCredentialsVersion());
     }
 
     @Test
@@ -177,14 +279,15 @@ public class AuthServiceTest {
         Cookie cookie = new Cookie("refreshToken", "refresh-token");
         HttpServletRequest request = mock(HttpServletRequest.class);
         when(request.getCookies()).thenReturn(new Cookie[]{cookie});
-        when(jwtUtils.isValidToken("refresh-token")).thenReturn(true);
+        when(jwtUtils.verify("refresh-token")).thenReturn(verified("refresh-token"));
 
         RefreshToken token = new RefreshToken();
-        token.setToken("refresh-token");
+        token.setRefreshTokenId("refresh-token-id");
+        token.setTokenDigest(RefreshTokenDigest.of("refresh-token"));
         token.setUser(user);
         token.setUsed(false);
 
-        when(refreshTokenRepository.findByToken("refresh-token")).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.findById("refresh-token-id")).thenReturn(Optional.of(token));
 
         authService.logout(request, response);
 
@@ -193,4 +296,9 @@ public class AuthServiceTest {
         verify(response).setHeader(eq("Set-Cookie"), contains("Max-Age=0"));
     }
 
+    private JwtVerification verified(String token) {
+        return JwtVerification.verified(
+                new VerifiedToken(user.getEmail(), token + "-id", null, null, Instant.now(), Instant.now().plusSeconds(3600))
+        );
+    }
 }
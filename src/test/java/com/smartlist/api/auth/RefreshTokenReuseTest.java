@@ -0,0 +1,99 @@
+package com.smartlist.api.auth;
+
+import com.smartlist.api.auth.service.AuthService;
+import com.smartlist.api.exceptions.InvalidJwtException;
+import com.smartlist.api.infra.security.JwtUtils;
+import com.smartlist.api.infra.security.PrincipalCache;
+import com.smartlist.api.refreshtoken.model.RefreshToken;
+import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.user.repository.UserRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:refreshtokenreuse;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class RefreshTokenReuseTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Test
+    void shouldRevokeAllSessionsWhenUsedRefreshTokenIsReplayed() {
+        User user = userRepository.save(new User("reuse@email.com", "encodedPassword"));
+        int credentialsVersion = user.getCredentialsVersion();
+
+        String stolenToken = jwtUtils.generateRefreshToken(user.getEmail());
+        authService.saveRefreshToken(stolenToken, user);
+        authService.saveRefreshToken(jwtUtils.generateRefreshToken(user.getEmail()), user);
+
+        String rotatedAccessToken = authService.refreshToken(requestWith(stolenToken), new MockHttpServletResponse());
+        assertTrue(rotatedAccessToken != null && !rotatedAccessToken.isBlank());
+
+        InvalidJwtException ex = assertThrows(
+                InvalidJwtException.class,
+                () -> authService.refreshToken(requestWith(stolenToken), new MockHttpServletResponse())
+        );
+
+        assertEquals("A1003", ex.getCode());
+
+        List<RefreshToken> tokens = refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUser().getUserId().equals(user.getUserId()))
+                .toList();
+        assertEquals(3, tokens.size());
+        assertTrue(tokens.stream().allMatch(RefreshToken::isUsed));
+        assertEquals(credentialsVersion + 1, userRepository.findById(user.getUserId()).orElseThrow().getCredentialsVersion());
+    }
+
+    @Test
+    void shouldRejectCachedCredentialsVersionAfterReuse() {
+        User user = userRepository.save(new User("reuse-cache@email.com", "encodedPassword"));
+        int credentialsVersion = user.getCredentialsVersion();
+
+        String stolenToken = jwtUtils.generateRefreshToken(user.getEmail());
+        authService.saveRefreshToken(stolenToken, user);
+        authService.refreshToken(requestWith(stolenToken), new MockHttpServletResponse());
+
+        assertTrue(principalCache.isCurrent(user.getUserId(), credentialsVersion));
+
+        assertThrows(
+                InvalidJwtException.class,
+                () -> authService.refreshToken(requestWith(stolenToken), new MockHttpServletResponse())
+        );
+
+        assertFalse(principalCache.isCurrent(user.getUserId(), credentialsVersion));
+        assertTrue(principalCache.isCurrent(user.getUserId(), credentialsVersion + 1));
+    }
+
+    private MockHttpServletRequest requestWith(String refreshToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("refreshToken", refreshToken));
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.smartlist.api.auth;
+
+import com.smartlist.api.passwordreset.enums.PasswordResetTokenStatus;
+import com.smartlist.api.passwordreset.repository.PasswordResetTokenRepository;
+import com.smartlist.api.refreshtoken.model.RefreshToken;
+import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
+import com.smartlist.api.refreshtoken.service.RefreshTokenDigest;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:tokenjanitor;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class TokenJanitorRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldDeleteOnlyExpiredRefreshTokensUpToTheLimit() {
+        User user = entityManager.persist(new User("refresh@email.com", "encodedPassword"));
+        Instant now = Instant.now();
+
+        persistRefreshToken(user, "expired-1", now.minus(Duration.ofDays(2)), true);
+        persistRefreshToken(user, "expired-2", now.minus(Duration.ofDays(2)), false);
+        persistRefreshToken(user, "expired-3", now.minus(Duration.ofDays(3)), false);
+        persistRefreshToken(user, "used-but-live", now.plus(Duration.ofDays(1)), true);
+        entityManager.flush();
+
+        assertEquals(2, refreshTokenRepository.deleteExpiredBatch(now.minus(Duration.ofDays(1)), 2));
+        assertEquals(1, refreshTokenRepository.deleteExpiredBatch(now.minus(Duration.ofDays(1)), 2));
+        assertEquals(0, refreshTokenRepository.deleteExpiredBatch(now.minus(Duration.ofDays(1)), 2));
+
+        entityManager.clear();
+        assertTrue(refreshTokenRepository.findById("used-but-live").isPresent());
+        assertEquals(1, refreshTokenRepository.count());
+    }
+
+    @Test
+    void shouldExpirePendingResetTokensAndDeleteFinishedOnes() {
+        User user = entityManager.persist(new User("reset@email.com", "encodedPassword"));
+        Instant now = Instant.now();
+
+        entityManager.flush();
+        insertResetToken(1L, user, now.minus(Duration.ofDays(2)), PasswordResetTokenStatus.PENDING);
+        insertResetToken(2L, user, now.plus(Duration.ofMinutes(5)), PasswordResetTokenStatus.PENDING);
+        insertResetToken(3L, user, now.minus(Duration.ofMinutes(5)), PasswordResetTokenStatus.USED);
+
+        assertEquals(1, passwordResetTokenRepository.expirePendingBatch(now, 10));
+        assertEquals(1, passwordResetTokenRepository.deleteFinishedBatch(now.minus(Duration.ofDays(1)), 10));
+
+        entityManager.clear();
+        assertTrue(passwordResetTokenRepository.findById(1L).isEmpty());
+        assertEquals(PasswordResetTokenStatus.PENDING, passwordResetTokenRepository.findById(2L).orElseThrow().getStatus());
+        assertEquals(PasswordResetTokenStatus.USED, passwordResetTokenRepository.findById(3L).orElseThrow().getStatus());
+    }
+
+    private void persistRefreshToken(User user, String tokenId, Instant expiresAt, boolean used) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setRefreshTokenId(tokenId);
+        refreshToken.setTokenDigest(RefreshTokenDigest.of(tokenId));
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(expiresAt);
+        refreshToken.setUsed(used);
+        entityManager.persist(refreshToken);
+    }
+
+    /*
+     * created_at vem do DEFAULT da tabela em produção; o schema gerado no H2 não tem esse default.
+     */
+    private void insertResetToken(Long id, User user, Instant expiresAt, PasswordResetTokenStatus status) {
+        jdbcTemplate.update(
+                "INSERT INTO password_reset_token (password_reset_token_id, user_id, email, token, created_at, expires_at, status, request_ip, user_agent) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, '127.0.0.1', 'JUnit')",
+                id,
+                user.getUserId(),
+                user.getEmail(),
+                UUID.randomUUID(),
+                Timestamp.from(expiresAt.minus(Duration.ofMinutes(10))),
+                Timestamp.from(expiresAt),
+                status.name()
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package com.smartlist.api.auth.service;
+
+import com.smartlist.api.infra.config.TokenJanitorProperties;
+import com.smartlist.api.passwordreset.repository.PasswordResetTokenRepository;
+import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenJanitorTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldPurgeInBoundedBatchesUntilABatchComesBackShort() {
+        when(passwordResetTokenRepository.expirePendingBatch(any(), eq(2))).thenReturn(1);
+        when(refreshTokenRepository.deleteExpiredBatch(any(), eq(2))).thenReturn(2, 2, 1);
+        when(passwordResetTokenRepository.deleteFinishedBatch(any(), eq(2))).thenReturn(0);
+
+        newJanitor(2).run();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(), eq(2));
+        assertEquals(5.0, purged("refresh_token"));
+        assertEquals(0.0, purged("password_reset_token"));
+        assertEquals(1.0, meterRegistry.get("security.token.janitor.expired").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("security.token.janitor.purged").tag("table", "refresh_token").summary().count());
+    }
+
+    @Test
+    void shouldKeepResetTokensForTheRetentionWindow() {
+        TokenJanitorProperties properties = new TokenJanitorProperties();
+        properties.setRetention(Duration.ofHours(6));
+        TokenJanitor janitor = new TokenJanitor(refreshTokenRepository, passwordResetTokenRepository, properties, meterRegistry);
+
+        when(passwordResetTokenRepository.expirePendingBatch(any(), any(Integer.class))).thenReturn(0);
+        when(refreshTokenRepository.deleteExpiredBatch(any(), any(Integer.class))).thenReturn(0);
+        when(passwordResetTokenRepository.deleteFinishedBatch(any(), any(Integer.class))).thenAnswer(invocation -> {
+            Instant cutoff = invocation.getArgument(0);
+            assertEquals(6, Duration.between(cutoff, Instant.now()).toHours());
+            return 0;
+        });
+
+        janitor.run();
+
+        verify(passwordResetTokenRepository).deleteFinishedBatch(any(), eq(1_000));
+    }
+
+    private TokenJanitor newJanitor(int batchSize) {
+        TokenJanitorProperties properties = new TokenJanitorProperties();
+        properties.setBatchSize(batchSize);
+        properties.setPause(Duration.ZERO);
+        return new TokenJanitor(refreshTokenRepository, passwordResetTokenRepository, properties, meterRegistry);
+    }
+
+    private double purged(String table) {
+        return meterRegistry.get("security.token.janitor.purged").tag("table", table).summary().totalAmount();
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = TestController.class)
@@ -30,4 +32,20 @@ class GlobalExceptionHandlerTest {
         mockMvc.perform(post("/health"))
                 .andExpect(status().isMethodNotAllowed());
     }
+
+    @Test
+    void shouldReturn429WithRetryAfterWhenTooManyRequests() throws Exception {
+        mockMvc.perform(get("/busy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.data.code").value("S4291"));
+    }
+
+    @Test
+    void shouldReturn503WithRetryAfterWhenServiceUnavailable() throws Exception {
+        mockMvc.perform(get("/unavailable"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.data.code").value("S5031"));
+    }
 }
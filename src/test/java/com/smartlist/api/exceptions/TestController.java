@@ -9,4 +9,14 @@ class TestController {
     @GetMapping("/health")
     public void health() {
     }
+
+    @GetMapping("/busy")
+    public void busy() {
+        throw new TooManyRequestsException("S4291", "Muitas requisições. Tente novamente em instantes.");
+    }
+
+    @GetMapping("/unavailable")
+    public void unavailable() {
+        throw new ServiceUnavailableException("S5031", "Servidor ocupado. Tente novamente em instantes.");
+    }
 }
@@ -0,0 +1,71 @@
+package com.smartlist.api.infra.ratelimit;
+
+import com.smartlist.api.infra.config.RateLimiterProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseRateLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    @Mock
+    private RateLimitBucketRepository rateLimitBucketRepository;
+
+    private DatabaseRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setup() {
+        RateLimiterProperties properties = new RateLimiterProperties();
+        properties.setCleanupBatchSize(2);
+
+        rateLimiter = new DatabaseRateLimiter(rateLimitBucketRepository, properties);
+    }
+
+    @Test
+    void shouldAllowWhileCountedHitsAreWithinLimit() {
+        when(rateLimitBucketRepository.hit(eq("login:ip:10.0.0.1"), anyLong(), any()))
+                .thenReturn(new RateLimitBucketRepository.Hits(0, 3));
+
+        RateLimitDecision decision = rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, WINDOW);
+
+        assertTrue(decision.allowed());
+        assertEquals(0, decision.remaining());
+    }
+
+    @Test
+    void shouldRejectWhenCountedHitsExceedLimit() {
+        when(rateLimitBucketRepository.hit(eq("login:ip:10.0.0.1"), anyLong(), any()))
+                .thenReturn(new RateLimitBucketRepository.Hits(0, 4));
+
+        RateLimitDecision decision = rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, WINDOW);
+
+        assertFalse(decision.allowed());
+        assertTrue(decision.resetAfterSeconds() >= 1);
+    }
+
+    @Test
+    void shouldPurgeExpiredBucketsInBatches() {
+        when(rateLimitBucketRepository.deleteExpiredBatch(any(), anyInt())).thenReturn(2, 2, 1);
+
+        rateLimiter.purgeExpired();
+
+        verify(rateLimitBucketRepository, times(3)).deleteExpiredBatch(any(), eq(2));
+    }
+}
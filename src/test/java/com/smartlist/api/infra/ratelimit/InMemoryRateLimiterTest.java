@@ -0,0 +1,126 @@
+package com.smartlist.api.infra.ratelimit;
+
+import com.smartlist.api.infra.config.RateLimiterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRateLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private final AtomicLong now = new AtomicLong(WINDOW.toNanos() * 1_000);
+
+    @Test
+    void shouldRejectAfterLimitWithinWindow() {
+        InMemoryRateLimiter rateLimiter = newRateLimiter(100);
+
+        RateLimitDecision first = rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, WINDOW);
+        rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, WINDOW);
+        RateLimitDecision third = rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, WINDOW);
+        RateLimitDecision fourth = rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, WINDOW);
+
+        assertTrue(first.allowed());
+        assertEquals(2, first.remaining());
+        assertTrue(third.allowed());
+        assertEquals(0, third.remaining());
+        assertFalse(fourth.allowed());
+        assertTrue(fourth.resetAfter().compareTo(WINDOW) > 0);
+        assertTrue(rateLimiter.tryAcquire("login:ip:10.0.0.2", 3, WINDOW).allowed());
+    }
+
+    @Test
+    void shouldWeightPreviousWindowBySlidingOverlap() {
+        InMemoryRateLimiter rateLimiter = newRateLimiter(100);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(rateLimiter.tryAcquire("reset:email:a@b.com", 4, WINDOW).allowed());
+        }
+
+        now.addAndGet(WINDOW.toNanos() / 4 * 5);
+
+        RateLimitDecision weighted = rateLimiter.tryAcquire("reset:email:a@b.com", 4, WINDOW);
+        RateLimitDecision blocked = rateLimiter.tryAcquire("reset:email:a@b.com", 4, WINDOW);
+
+        assertTrue(weighted.allowed());
+        assertEquals(0, weighted.remaining());
+        assertFalse(blocked.allowed());
+        assertEquals(15, blocked.resetAfter().toSeconds());
+
+        now.addAndGet(WINDOW.toNanos() / 2);
+
+        assertTrue(rateLimiter.tryAcquire("reset:email:a@b.com", 4, WINDOW).allowed());
+    }
+
+    @Test
+    void shouldEvictIdleKeys() {
+        InMemoryRateLimiter rateLimiter = newRateLimiter(100);
+
+        rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, WINDOW);
+        now.addAndGet(WINDOW.toNanos() * 3);
+        rateLimiter.cleanUp();
+
+        assertEquals(0, rateLimiter.estimatedSize());
+    }
+
+    @Test
+    void shouldBoundTheNumberOfKeys() {
+        InMemoryRateLimiter rateLimiter = newRateLimiter(10);
+
+        for (int i = 0; i < 1_000; i++) {
+            rateLimiter.tryAcquire("login:ip:10.0." + (i / 256) + "." + (i % 256), 3, WINDOW);
+        }
+
+        rateLimiter.cleanUp();
+
+        assertTrue(rateLimiter.estimatedSize() <= 10);
+    }
+
+    @Test
+    void shouldNotAllowMoreThanLimitUnderContention() throws InterruptedException {
+        InMemoryRateLimiter rateLimiter = newRateLimiter(100);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+
+                    if (rateLimiter.tryAcquire("register:ip:10.0.0.1", 50, WINDOW).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                });
+            }
+
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(50, allowed.get());
+    }
+
+    private InMemoryRateLimiter newRateLimiter(long maxKeys) {
+        RateLimiterProperties properties = new RateLimiterProperties();
+        properties.setMaxKeys(maxKeys);
+
+        return new InMemoryRateLimiter(properties, new SimpleMeterRegistry(), now::get);
+    }
+}
@@ -0,0 +1,145 @@
+package com.smartlist.api.infra.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlist.api.infra.config.RateLimiterProperties;
+import com.smartlist.api.infra.config.RequestRateLimitProperties;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.userdetails.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectLoginAttemptsOverTheIpLimit() throws Exception {
+        RateLimitFilter filter = newFilter(true, policy("login", List.of("POST"), "/auth/login", RequestRateLimitProperties.KeyType.IP, 2));
+
+        MockHttpServletResponse first = perform(filter, request("POST", "/auth/login", "10.0.0.1"));
+        perform(filter, request("POST", "/auth/login", "10.0.0.1"));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/auth/login", "10.0.0.1"), rejected, chain);
+
+        assertEquals("2", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", first.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertNotNull(first.getHeader(RateLimitFilter.RESET_HEADER));
+
+        assertEquals(429, rejected.getStatus());
+        assertNull(chain.getRequest());
+        assertEquals("0", rejected.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertTrue(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER)) >= 1);
+        assertTrue(rejected.getContentAsString().contains("R4291"));
+        assertEquals(1.0, meterRegistry.get("security.request.rate.limit.rejected").tag("policy", "login").counter().count());
+
+        assertEquals(200, perform(filter, request("POST", "/auth/login", "10.0.0.2")).getStatus());
+    }
+
+    @Test
+    void shouldIgnoreRequestsOutsideThePolicies() throws Exception {
+        RateLimitFilter filter = newFilter(true, policy("login", List.of("POST"), "/auth/login", RequestRateLimitProperties.KeyType.IP, 1));
+
+        perform(filter, request("POST", "/auth/login", "10.0.0.1"));
+        MockHttpServletResponse other = perform(filter, request("GET", "/inventory/items", "10.0.0.1"));
+
+        assertEquals(200, other.getStatus());
+        assertNull(other.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    void shouldLimitWritesPerPrincipal() throws Exception {
+        RateLimitFilter filter = newFilter(true, policy("writes", List.of("POST", "PATCH"), "/**", RequestRateLimitProperties.KeyType.PRINCIPAL, 1));
+
+        assertEquals(200, perform(filter, request("PATCH", "/inventory/items/1", "10.0.0.1")).getStatus());
+
+        authenticate(1L);
+        assertEquals(200, perform(filter, request("PATCH", "/inventory/items/1", "10.0.0.1")).getStatus());
+        assertEquals(429, perform(filter, request("POST", "/inventory/items", "10.0.0.2")).getStatus());
+
+        authenticate(2L);
+        assertEquals(200, perform(filter, request("PATCH", "/inventory/items/1", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    void shouldPassThroughWhenDisabled() throws Exception {
+        RateLimitFilter filter = newFilter(false, policy("login", List.of("POST"), "/auth/login", RequestRateLimitProperties.KeyType.IP, 1));
+
+        perform(filter, request("POST", "/auth/login", "10.0.0.1"));
+        MockHttpServletResponse second = perform(filter, request("POST", "/auth/login", "10.0.0.1"));
+
+        assertEquals(200, second.getStatus());
+        assertNull(second.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    private RateLimitFilter newFilter(boolean enabled, RequestRateLimitProperties.Policy policy) {
+        RequestRateLimitProperties properties = new RequestRateLimitProperties();
+        properties.setEnabled(enabled);
+        properties.setPolicies(List.of(policy));
+
+        RateLimiter rateLimiter = new InMemoryRateLimiter(new RateLimiterProperties(), meterRegistry);
+
+        return new RateLimitFilter(rateLimiter, properties, new ObjectMapper(), meterRegistry);
+    }
+
+    private RequestRateLimitProperties.Policy policy(
+            String name,
+            List<String> methods,
+            String path,
+            RequestRateLimitProperties.KeyType key,
+            int limit
+    ) {
+        RequestRateLimitProperties.Policy policy = new RequestRateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setMethods(methods);
+        policy.setPaths(List.of(path));
+        policy.setKey(key);
+        policy.setLimit(limit);
+        policy.setWindow(Duration.ofMinutes(1));
+        return policy;
+    }
+
+    private MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void authenticate(Long userId) {
+        User user = new User("user" + userId + "@email.com", "encodedPassword");
+        user.setUserId(userId);
+        UserDetailsImpl userDetails = new UserDetailsImpl(user);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.smartlist.api.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitKeyTest {
+
+    @Test
+    void shouldKeepScopeAndBoundSubjectLength() {
+        String longEmail = "a".repeat(5_000) + "@example.com";
+
+        String key = RateLimitKey.of("password-reset:email", longEmail);
+
+        assertTrue(key.startsWith("password-reset:email:"));
+        assertEquals("password-reset:email:".length() + 64, key.length());
+        assertTrue(key.length() <= 200);
+    }
+
+    @Test
+    void shouldBeStablePerSubject() {
+        assertEquals(RateLimitKey.of("request:login", "ip:10.0.0.1"), RateLimitKey.of("request:login", "ip:10.0.0.1"));
+        assertNotEquals(RateLimitKey.of("request:login", "ip:10.0.0.1"), RateLimitKey.of("request:login", "ip:10.0.0.2"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.smartlist.api.infra.security;
+
+import com.smartlist.api.infra.config.JwtProperties;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.user.repository.UserRepository;
+import com.smartlist.api.userdetails.UserDetailsImpl;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final JwtUtils jwtUtils = newJwtUtils();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateFromClaimsWithoutLoadingTheUser() throws ServletException, IOException {
+        User user = user(2);
+        when(principalCache.isCurrent(7L, 2)).thenReturn(true);
+
+        filter(jwtUtils.generateAccessToken(user));
+
+        UserDetailsImpl principal = principal();
+        assertEquals(7L, principal.getUserId());
+        assertEquals("user@email.com", principal.getUsername());
+        assertEquals(7L, principal.getUserReference().getUserId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldLoadTheUserOnlyWhenRequested() throws ServletException, IOException {
+        User user = user(0);
+        when(principalCache.isCurrent(7L, 0)).thenReturn(true);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        filter(jwtUtils.generateAccessToken(user));
+
+        UserDetailsImpl principal = principal();
+        assertSame(user, principal.getUser());
+        assertSame(user, principal.getUser());
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    void shouldNotAuthenticateTokenIssuedBeforeCredentialsChanged() throws ServletException, IOException {
+        when(principalCache.isCurrent(7L, 0)).thenReturn(false);
+
+        filter(jwtUtils.generateAccessToken(user(0)));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void shouldNotAuthenticateTokenWithoutUserClaims() throws ServletException, IOException {
+        filter(jwtUtils.generateRefreshToken("user@email.com"));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(principalCache, userRepository);
+    }
+
+    private void filter(String token) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        new JwtAuthenticationFilter(jwtUtils, principalCache, userRepository)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private UserDetailsImpl principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UserDetailsImpl) authentication.getPrincipal();
+    }
+
+    private User user(int credentialsVersion) {
+        User user = new User("user@email.com", "encodedPassword");
+        user.setUserId(7L);
+        user.setCredentialsVersion(credentialsVersion);
+        return user;
+    }
+
+    private static JwtUtils newJwtUtils() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-key-with-at-least-256-bits-for-hmac-sha");
+        properties.setAccessTokenExpiration(60_000);
+        properties.setRefreshTokenExpiration(60_000);
+        return new JwtUtils(properties);
+    }
+}
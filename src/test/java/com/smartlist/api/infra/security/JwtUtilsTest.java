@@ -0,0 +1,83 @@
+package com.smartlist.api.infra.security;
+
+import com.smartlist.api.infra.config.JwtProperties;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "test-secret-key-with-at-least-256-bits-for-hmac-sha";
+
+    private final JwtUtils jwtUtils = newJwtUtils(SECRET, 60_000);
+
+    @Test
+    void shouldVerifyValidRefreshToken() {
+        JwtVerification verification = jwtUtils.verify(jwtUtils.generateRefreshToken("user@email.com"));
+
+        assertTrue(verification.isValid());
+        assertNull(verification.failure());
+        assertEquals("user@email.com", verification.token().subject());
+        assertNotNull(verification.token().tokenId());
+        assertTrue(verification.token().expiresAt().isAfter(verification.token().issuedAt()));
+    }
+
+    @Test
+    void shouldCarryUserIdAndCredentialsVersionInAccessToken() {
+        User user = user();
+        user.setCredentialsVersion(3);
+
+        VerifiedToken token = jwtUtils.verify(jwtUtils.generateAccessToken(user)).token();
+
+        assertEquals("user@email.com", token.subject());
+        assertEquals(42L, token.userId());
+        assertEquals(3, token.credentialsVersion());
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        String token = newJwtUtils(SECRET, -60_000).generateAccessToken(user());
+
+        assertFailure(JwtFailure.EXPIRED, jwtUtils.verify(token));
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        String token = newJwtUtils("another-secret-key-with-at-least-256-bits-for-hmac", 60_000)
+                .generateAccessToken(user());
+
+        assertFailure(JwtFailure.INVALID_SIGNATURE, jwtUtils.verify(token));
+    }
+
+    @Test
+    void shouldRejectMalformedAndMissingTokens() {
+        assertFailure(JwtFailure.MALFORMED, jwtUtils.verify("not-a-jwt"));
+        assertFailure(JwtFailure.MISSING, jwtUtils.verify(" "));
+        assertFailure(JwtFailure.MISSING, jwtUtils.verify(null));
+    }
+
+    private void assertFailure(JwtFailure expected, JwtVerification verification) {
+        assertFalse(verification.isValid());
+        assertNull(verification.token());
+        assertEquals(expected, verification.failure());
+    }
+
+    private static User user() {
+        User user = new User("user@email.com", "encodedPassword");
+        user.setUserId(42L);
+        return user;
+    }
+
+    private static JwtUtils newJwtUtils(String secret, long expiration) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(secret);
+        properties.setAccessTokenExpiration(expiration);
+        properties.setRefreshTokenExpiration(expiration);
+        return new JwtUtils(properties);
+    }
+}
@@ -0,0 +1,129 @@
+package com.smartlist.api.infra.security;
+
+import com.smartlist.api.exceptions.ServiceUnavailableException;
+import com.smartlist.api.exceptions.TooManyRequestsException;
+import com.smartlist.api.infra.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    void shouldEncodeAndMatchThroughThePool() {
+        passwordHasher = newHasher(new BCryptPasswordEncoder(4), 2, 8, Duration.ofSeconds(5));
+
+        String encoded = passwordHasher.encode("Senha@123");
+
+        assertTrue(passwordHasher.matches("Senha@123", encoded));
+        assertFalse(passwordHasher.matches("outraSenha", encoded));
+        assertEquals(1, meterRegistry.get("security.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("security.password.hashing").tag("operation", "matches").timer().count());
+        assertEquals(3, meterRegistry.get("security.password.hashing.queue.wait").timer().count());
+    }
+
+    @Test
+    void shouldDetectHashesWithOutdatedCost() {
+        passwordHasher = newHasher(new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(5));
+
+        assertTrue(passwordHasher.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Senha@123")));
+        assertFalse(passwordHasher.upgradeEncoding(new BCryptPasswordEncoder(5).encode("Senha@123")));
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        passwordHasher = newHasher(blockingEncoder(started), 1, 1, Duration.ofSeconds(30));
+
+        CompletableFuture.runAsync(() -> passwordHasher.encode("primeira"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> passwordHasher.encode("segunda"));
+        awaitQueued();
+
+        TooManyRequestsException ex = assertThrows(
+                TooManyRequestsException.class,
+                () -> passwordHasher.encode("terceira")
+        );
+
+        assertEquals("S4291", ex.getCode());
+        assertEquals(1.0, meterRegistry.get("security.password.hashing.rejected").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void shouldRejectWhenOperationTimesOut() {
+        passwordHasher = newHasher(blockingEncoder(new CountDownLatch(1)), 1, 1, Duration.ofMillis(50));
+
+        ServiceUnavailableException ex = assertThrows(
+                ServiceUnavailableException.class,
+                () -> passwordHasher.encode("Senha@123")
+        );
+
+        assertEquals("S5031", ex.getCode());
+        assertEquals(1.0, meterRegistry.get("security.password.hashing.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    private PasswordHasher newHasher(PasswordEncoder encoder, int threads, int queueCapacity, Duration timeout) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeout(timeout);
+
+        return new PasswordHasher(encoder, properties, meterRegistry);
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return "encoded";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (meterRegistry.get("security.password.hashing.queue.size").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartlist.api.infra.security;
+
+import com.smartlist.api.infra.config.PrincipalCacheProperties;
+import com.smartlist.api.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldServeWarmVersionsWithoutQueryingTheDatabase() {
+        when(userRepository.findCredentialsVersion(1L)).thenReturn(Optional.of(0));
+        PrincipalCache cache = newCache(100);
+
+        assertTrue(cache.isCurrent(1L, 0));
+        assertTrue(cache.isCurrent(1L, 0));
+
+        verify(userRepository, times(1)).findCredentialsVersion(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldRejectStaleVersionAfterInvalidation() {
+        when(userRepository.findCredentialsVersion(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        PrincipalCache cache = newCache(100);
+
+        assertTrue(cache.isCurrent(1L, 0));
+        cache.invalidate(1L);
+
+        assertFalse(cache.isCurrent(1L, 0));
+        assertTrue(cache.isCurrent(1L, 1));
+        verify(userRepository, times(2)).findCredentialsVersion(1L);
+        verify(eventPublisher).publishEvent(new CredentialsRevokedEvent(1L));
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        when(userRepository.findCredentialsVersion(99L)).thenReturn(Optional.empty());
+        PrincipalCache cache = newCache(100);
+
+        assertFalse(cache.isCurrent(99L, 0));
+        assertFalse(cache.isCurrent(99L, 0));
+
+        verify(userRepository, times(2)).findCredentialsVersion(99L);
+    }
+
+    @Test
+    void shouldStayWithinMaximumSize() {
+        when(userRepository.findCredentialsVersion(1L)).thenReturn(Optional.of(0));
+        when(userRepository.findCredentialsVersion(2L)).thenReturn(Optional.of(0));
+        PrincipalCache cache = newCache(1);
+
+        cache.isCurrent(1L, 0);
+        cache.isCurrent(2L, 0);
+        cache.cleanUp();
+
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    private PrincipalCache newCache(long maxSize) {
+        PrincipalCacheProperties properties = new PrincipalCacheProperties();
+        properties.setMaxSize(maxSize);
+        return new PrincipalCache(userRepository, properties, meterRegistry, eventPublisher);
+    }
+}
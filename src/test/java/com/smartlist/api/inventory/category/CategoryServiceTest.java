@@ -7,6 +7,7 @@ import com.smartlist.api.inventory.category.dto.CategoryUpdateRequestDTO;
 import com.smartlist.api.inventory.category.model.Category;
 import com.smartlist.api.inventory.category.repository.CategoryRepository;
 import com.smartlist.api.inventory.category.service.CategoryService;
+import com.smartlist.api.inventory.snapshot.service.InventorySnapshotCache;
 import com.smartlist.api.user.model.User;
 import com.smartlist.api.user.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,9 @@ public class CategoryServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private InventorySnapshotCache inventorySnapshotCache;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -97,6 +101,7 @@ public class CategoryServiceTest {
         categoryService.register(dto, user);
 
         verify(categoryRepository).save(any(Category.class));
+        verify(inventorySnapshotCache).invalidate(user);
     }
 
     @Test
@@ -149,6 +154,7 @@ public class CategoryServiceTest {
         categoryService.update(1L, dto, user);
 
         verify(categoryRepository).save(category);
+        verify(inventorySnapshotCache).invalidate(user);
         assertEquals("Novo Nome", category.getName());
     }
 
@@ -163,6 +169,7 @@ public class CategoryServiceTest {
         categoryService.deleteById(1L, user);
 
         verify(categoryRepository).deleteById(1L);
+        verify(inventorySnapshotCache).invalidate(user);
     }
 
     @Test
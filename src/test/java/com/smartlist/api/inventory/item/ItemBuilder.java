@@ -20,6 +20,7 @@ public class ItemBuilder {
     private AverageConsumptionUnit avgConsumptionUnit = AverageConsumptionUnit.DAY;
     private BigDecimal price = new BigDecimal("10.00");
     private Integer criticalQuantityDaysOverride = null;
+    private Boolean adaptiveConsumption = null;
 
     public static ItemBuilder anItem() {
         return new ItemBuilder();
@@ -61,6 +62,11 @@ public class ItemBuilder {
         return this;
     }
 
+    public ItemBuilder withAdaptiveConsumption(Boolean adaptiveConsumption) {
+        this.adaptiveConsumption = adaptiveConsumption;
+        return this;
+    }
+
     public ItemRegisterRequest buildRegisterRequest() {
         return new ItemRegisterRequest(
                 categoryId,
@@ -70,7 +76,8 @@ public class ItemBuilder {
                 avgConsumptionValue,
                 avgConsumptionUnit,
                 price,
-                criticalQuantityDaysOverride
+                criticalQuantityDaysOverride,
+                adaptiveConsumption
         );
     }
 
@@ -83,7 +90,8 @@ public class ItemBuilder {
                 avgConsumptionValue,
                 avgConsumptionUnit,
                 criticalQuantityDaysOverride,
-                categoryId
+                categoryId,
+                adaptiveConsumption
         );
     }
 
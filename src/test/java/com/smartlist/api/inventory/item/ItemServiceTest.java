@@ -11,19 +11,30 @@ import com.smartlist.api.inventory.item.model.Item;
 import com.smartlist.api.inventory.item.repository.ItemRepository;
 import com.smartlist.api.inventory.item.service.ItemService;
 import com.smartlist.api.inventory.service.InventoryApplicationService;
+import com.smartlist.api.inventory.snapshot.model.InventorySnapshot;
+import com.smartlist.api.inventory.snapshot.model.ItemSnapshot;
+import com.smartlist.api.inventory.snapshot.service.InventorySnapshotCache;
+import com.smartlist.api.shoppinglist.service.ShoppingListService;
 import com.smartlist.api.user.model.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +49,12 @@ class ItemServiceTest {
     @Mock
     private InventoryApplicationService inventoryApplicationService;
 
+    @Mock
+    private InventorySnapshotCache inventorySnapshotCache;
+
+    @Mock
+    private ShoppingListService shoppingListService;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -54,6 +71,9 @@ class ItemServiceTest {
                         && item.getAvgConsumptionPerDay().compareTo(new BigDecimal("7")) == 0
                         && item.getCategory() == null
         ));
+
+        verify(inventorySnapshotCache).invalidate(user);
+        verify(inventoryApplicationService).onItemUpdated(any(Item.class));
     }
 
     @Test
@@ -139,7 +159,31 @@ class ItemServiceTest {
                         && saved.getCriticalQuantityDaysOverride() == 3
         ));
 
+        verify(inventoryApplicationService).recalculateCriticalOn(item);
         verify(inventoryApplicationService).onItemUpdated(item);
+        verify(shoppingListService).onItemRenamed(item, user);
+    }
+
+    @Test
+    void shouldUseLearnedConsumptionWhenAdaptiveConsumptionIsEnabled() {
+        User user = new User();
+        Item item = ItemBuilder.anItem().buildItem(user);
+        item.setAvgConsumptionPerDay(new BigDecimal("7"));
+        item.setLearnedConsumptionPerDay(new BigDecimal("2.500"));
+        ItemUpdateRequest dto = ItemBuilder.anItem()
+                .withAdaptiveConsumption(true)
+                .buildUpdateRequest();
+
+        when(itemRepository.findByUserAndItemId(user, 1L))
+                .thenReturn(Optional.of(item));
+
+        itemService.update(1L, dto, user);
+
+        verify(itemRepository).save(argThat(saved ->
+                saved.isAdaptiveConsumption()
+                        && saved.getAvgConsumptionPerDay().compareTo(new BigDecimal("2.500")) == 0
+        ));
+        verify(shoppingListService, never()).onItemRenamed(any(), any());
     }
 
     @Test
@@ -178,6 +222,39 @@ class ItemServiceTest {
 
         itemService.deleteById(1L, user);
 
-        verify(itemRepository).delete(item);
+        InOrder inOrder = inOrder(shoppingListService, itemRepository);
+        inOrder.verify(shoppingListService).removeItemFromActiveShoppingList(item, user);
+        inOrder.verify(itemRepository).delete(item);
+        verify(inventorySnapshotCache).invalidate(user);
+    }
+
+    @Test
+    void shouldListItemsFromSnapshotWhenUnsorted() {
+        User user = new User();
+        user.setUserId(1L);
+
+        List<ItemSnapshot> items = List.of(
+                ItemSnapshot.from(ItemBuilder.anItem().buildItem(user)),
+                ItemSnapshot.from(ItemBuilder.anItem().buildItem(user)),
+                ItemSnapshot.from(ItemBuilder.anItem().buildItem(user))
+        );
+        when(inventorySnapshotCache.get(user)).thenReturn(InventorySnapshot.of(1L, items));
+
+        Page<?> page = itemService.list(user, PageRequest.of(1, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        verify(itemRepository, never()).findByUser(eq(user), any(PageRequest.class));
+    }
+
+    @Test
+    void shouldListItemsFromDatabaseWhenSorted() {
+        User user = new User();
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("name"));
+        when(itemRepository.findByUser(user, pageable)).thenReturn(Page.empty(pageable));
+
+        itemService.list(user, pageable);
+
+        verify(inventorySnapshotCache, never()).get(user);
     }
 }
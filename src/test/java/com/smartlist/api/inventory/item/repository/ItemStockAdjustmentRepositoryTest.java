@@ -0,0 +1,137 @@
+package com.smartlist.api.inventory.item.repository;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.inventory.service.InventoryService;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:stockadjustment;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@Import(ItemStockAdjustmentRepository.class)
+class ItemStockAdjustmentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemStockAdjustmentRepository itemStockAdjustmentRepository;
+
+    private final InventoryService inventoryService = new InventoryService(null);
+
+    @Test
+    void shouldApplyDeltasAndRecalculateCriticalOn() {
+        LocalDate today = LocalDate.now();
+        User user = persistUser("adjust@email.com", 5);
+        Category category = persistCategory(user);
+
+        Item rice = persistItem(user, category, "Arroz", "1.500", "1.000", null);
+        Item beans = persistItem(user, category, "Feijão", "10.000", "0.500", 2);
+        Item salt = persistItem(user, category, "Sal", "3.000", "0.000", null);
+
+        Map<Long, BigDecimal> deltas = new LinkedHashMap<>();
+        deltas.put(rice.getItemId(), new BigDecimal("20"));
+        deltas.put(beans.getItemId(), new BigDecimal("-9.5"));
+        deltas.put(salt.getItemId(), new BigDecimal("1"));
+
+        int updated = itemStockAdjustmentRepository.adjustStock(user.getUserId(), deltas, today);
+
+        assertEquals(3, updated);
+
+        for (Item item : new Item[]{rice, beans, salt}) {
+            Item reloaded = reload(item);
+            assertEquals(0, item.getQuantity().add(deltas.get(item.getItemId())).compareTo(reloaded.getQuantity()));
+            assertEquals(today, reloaded.getLastStockUpdate());
+            assertEquals(inventoryService.calculateCriticalOn(reloaded), reloaded.getCriticalOn());
+        }
+
+        assertEquals(today.plusDays(17), reload(rice).getCriticalOn());
+        assertEquals(today, reload(beans).getCriticalOn());
+        assertNull(reload(salt).getCriticalOn());
+    }
+
+    @Test
+    void shouldNotUpdateItemsFromOtherUsers() {
+        User user = persistUser("owner@email.com", 5);
+        User anotherUser = persistUser("other@email.com", 5);
+        Item item = persistItem(anotherUser, persistCategory(anotherUser), "Feijão", "2.000", "1.000", null);
+
+        int updated = itemStockAdjustmentRepository.adjustStock(
+                user.getUserId(),
+                Map.of(item.getItemId(), new BigDecimal("5")),
+                LocalDate.now()
+        );
+
+        assertEquals(0, updated);
+        assertEquals(0, new BigDecimal("2").compareTo(reload(item).getQuantity()));
+    }
+
+    @Test
+    void shouldNotUpdateItemsThatWouldBecomeNegative() {
+        User user = persistUser("negative@email.com", 5);
+        Item item = persistItem(user, persistCategory(user), "Óleo", "2.000", "1.000", null);
+
+        int updated = itemStockAdjustmentRepository.adjustStock(
+                user.getUserId(),
+                Map.of(item.getItemId(), new BigDecimal("-2.001")),
+                LocalDate.now()
+        );
+
+        assertEquals(0, updated);
+        assertEquals(0, new BigDecimal("2").compareTo(reload(item).getQuantity()));
+    }
+
+    private Item reload(Item item) {
+        entityManager.clear();
+        return entityManager.find(Item.class, item.getItemId());
+    }
+
+    private User persistUser(String email, Integer criticalQuantityDays) {
+        User user = new User(email, "encodedPassword");
+        user.setCriticalQuantityDays(criticalQuantityDays);
+        return entityManager.persist(user);
+    }
+
+    private Category persistCategory(User user) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName("Categoria Teste");
+        return entityManager.persist(category);
+    }
+
+    private Item persistItem(User user, Category category, String name, String quantity, String avgPerDay, Integer override) {
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName(name);
+        item.setQuantity(new BigDecimal(quantity));
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setAvgConsumptionPerDay(new BigDecimal(avgPerDay));
+        item.setPrice(new BigDecimal("10.00"));
+        item.setCriticalQuantityDaysOverride(override);
+        entityManager.persist(item);
+        entityManager.flush();
+        return item;
+    }
+}
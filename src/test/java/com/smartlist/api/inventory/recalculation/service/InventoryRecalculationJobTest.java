@@ -0,0 +1,203 @@
+package com.smartlist.api.inventory.recalculation.service;
+
+import com.smartlist.api.infra.config.InventoryRecalculationProperties;
+import com.smartlist.api.inventory.recalculation.model.InventoryRecalculationCheckpoint;
+import com.smartlist.api.inventory.recalculation.repository.InventoryRecalculationCheckpointRepository;
+import com.smartlist.api.inventory.service.InventoryApplicationService;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.user.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryRecalculationJobTest {
+
+    @Mock
+    private InventoryApplicationService inventoryApplicationService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private InventoryRecalculationCheckpointRepository checkpointRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldPartitionUsersAndRefreshEachOnce() {
+        List<User> users = users(10);
+        stubUsers(users);
+        when(checkpointRepository.findAllByOrderByPartitionIndexAsc()).thenReturn(List.of());
+        when(userRepository.findMinUserId()).thenReturn(1L);
+        when(userRepository.findMaxUserId()).thenReturn(10L);
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(returnsFirstArg());
+        when(checkpointRepository.save(any())).thenAnswer(returnsFirstArg());
+
+        Set<Long> refreshed = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> refreshed.add(invocation.<User>getArgument(0).getUserId()))
+                .when(inventoryApplicationService).refreshInventory(any());
+
+        newJob(3, 2, 2).run();
+
+        ArgumentCaptor<List<InventoryRecalculationCheckpoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(captor.capture());
+        List<InventoryRecalculationCheckpoint> checkpoints = captor.getValue();
+
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().collect(Collectors.toSet()), refreshed);
+        assertEquals(3, checkpoints.size());
+        assertEquals(1L, checkpoints.get(0).getRangeStart());
+        assertEquals(10L, checkpoints.get(2).getRangeEnd());
+        assertTrue(checkpoints.stream().allMatch(InventoryRecalculationCheckpoint::isCompleted));
+        assertTrue(checkpoints.stream().allMatch(checkpoint -> checkpoint.getLastUserId().equals(checkpoint.getRangeEnd())));
+        assertEquals(10.0, meterRegistry.get("inventory.recalculation.users").tag("result", "processed").counter().count());
+    }
+
+    @Test
+    void shouldResumeFromLastCheckpoint() {
+        stubUsers(users(10));
+
+        InventoryRecalculationCheckpoint checkpoint = InventoryRecalculationCheckpoint.create(0, 1, 10, LocalDateTime.now());
+        checkpoint.setLastUserId(6L);
+        when(checkpointRepository.findAllByOrderByPartitionIndexAsc()).thenReturn(List.of(checkpoint));
+        when(checkpointRepository.save(any())).thenAnswer(returnsFirstArg());
+
+        Set<Long> refreshed = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> refreshed.add(invocation.<User>getArgument(0).getUserId()))
+                .when(inventoryApplicationService).refreshInventory(any());
+
+        newJob(3, 2, 2).run();
+
+        assertEquals(Set.of(7L, 8L, 9L, 10L), refreshed);
+        assertTrue(checkpoint.isCompleted());
+        verify(userRepository, never()).findMinUserId();
+        verify(checkpointRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldContinueWhenOneUserFails() {
+        List<User> users = users(5);
+        stubUsers(users);
+        when(checkpointRepository.findAllByOrderByPartitionIndexAsc()).thenReturn(List.of());
+        when(userRepository.findMinUserId()).thenReturn(1L);
+        when(userRepository.findMaxUserId()).thenReturn(5L);
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(returnsFirstArg());
+        when(checkpointRepository.save(any())).thenAnswer(returnsFirstArg());
+        doAnswer(invocation -> {
+            if (invocation.<User>getArgument(0).getUserId() == 3L) {
+                throw new RuntimeException("falha");
+            }
+            return null;
+        }).when(inventoryApplicationService).refreshInventory(any());
+
+        newJob(1, 2, 10).run();
+
+        assertEquals(4.0, meterRegistry.get("inventory.recalculation.users").tag("result", "processed").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.recalculation.users").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void shouldNotBlockOtherUsersWhileOneIsSlow() {
+        List<User> users = users(10);
+        stubUsers(users);
+        when(checkpointRepository.findAllByOrderByPartitionIndexAsc()).thenReturn(List.of());
+        when(userRepository.findMinUserId()).thenReturn(1L);
+        when(userRepository.findMaxUserId()).thenReturn(10L);
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(returnsFirstArg());
+        when(checkpointRepository.save(any())).thenAnswer(returnsFirstArg());
+
+        CountDownLatch othersDone = new CountDownLatch(9);
+        boolean[] slowUserSawOthersFinish = new boolean[1];
+
+        doAnswer(invocation -> {
+            if (invocation.<User>getArgument(0).getUserId() == 1L) {
+                slowUserSawOthersFinish[0] = othersDone.await(5, TimeUnit.SECONDS);
+            } else {
+                othersDone.countDown();
+            }
+            return null;
+        }).when(inventoryApplicationService).refreshInventory(any());
+
+        newJob(1, 2, 3).run();
+
+        assertTrue(slowUserSawOthersFinish[0]);
+    }
+
+    @Test
+    void shouldCapConcurrencyBelowHikariPoolSize() {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setMaximumPoolSize(3);
+
+            assertEquals(2, InventoryRecalculationJob.resolveMaxConcurrency(8, dataSource));
+            assertEquals(1, InventoryRecalculationJob.resolveMaxConcurrency(1, dataSource));
+        }
+
+        assertEquals(8, InventoryRecalculationJob.resolveMaxConcurrency(8, null));
+    }
+
+    private InventoryRecalculationJob newJob(int partitions, int maxConcurrency, int batchSize) {
+        InventoryRecalculationProperties properties = new InventoryRecalculationProperties();
+        properties.setPartitions(partitions);
+        properties.setMaxConcurrency(maxConcurrency);
+        properties.setBatchSize(batchSize);
+
+        return new InventoryRecalculationJob(
+                inventoryApplicationService,
+                userRepository,
+                checkpointRepository,
+                properties,
+                null,
+                meterRegistry
+        );
+    }
+
+    private void stubUsers(List<User> users) {
+        when(userRepository.findByUserIdGreaterThanAndUserIdLessThanEqualOrderByUserIdAsc(anyLong(), anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    long last = invocation.getArgument(1);
+                    Limit limit = invocation.getArgument(2);
+
+                    return users.stream()
+                            .filter(user -> user.getUserId() > after && user.getUserId() <= last)
+                            .limit(limit.max())
+                            .toList();
+                });
+    }
+
+    private List<User> users(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> {
+                    User user = new User("user" + id + "@email.com", "encodedPassword");
+                    user.setUserId(id);
+                    return user;
+                })
+                .toList();
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.infra.config.ConsumptionLearningProperties;
+import com.smartlist.api.inventory.item.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ConsumptionEstimatorTest {
+
+    private final ConsumptionEstimator consumptionEstimator = new ConsumptionEstimator(new ConsumptionLearningProperties());
+
+    @Test
+    void shouldOnlyRecordBaselineOnFirstPurchase() {
+        Item item = newItem("2");
+        LocalDate today = LocalDate.now();
+
+        consumptionEstimator.recordPurchase(item, new BigDecimal("10"), today);
+
+        assertEquals(today, item.getLastPurchasedOn());
+        assertEquals(new BigDecimal("12"), item.getStockAfterLastPurchase());
+        assertNull(item.getLearnedConsumptionPerDay());
+        assertEquals(0, item.getConsumptionSamples());
+    }
+
+    @Test
+    void shouldSampleWhatWasConsumedSinceLastPurchase() {
+        Item item = newItem("3");
+        LocalDate today = LocalDate.now();
+        item.setLastPurchasedOn(today.minusDays(5));
+        item.setStockAfterLastPurchase(new BigDecimal("13"));
+
+        consumptionEstimator.recordPurchase(item, new BigDecimal("40"), today);
+
+        assertEquals(new BigDecimal("2.000"), item.getLearnedConsumptionPerDay());
+        assertEquals(1, item.getConsumptionSamples());
+        assertEquals(today, item.getLastPurchasedOn());
+        assertEquals(new BigDecimal("43"), item.getStockAfterLastPurchase());
+    }
+
+    @Test
+    void shouldBlendNewSampleWithExponentialMovingAverage() {
+        Item item = newItem("0");
+        LocalDate today = LocalDate.now();
+        item.setLastPurchasedOn(today.minusDays(4));
+        item.setStockAfterLastPurchase(new BigDecimal("12"));
+        item.setLearnedConsumptionPerDay(new BigDecimal("2.000"));
+        item.setConsumptionSamples(3);
+
+        consumptionEstimator.recordPurchase(item, new BigDecimal("12"), today);
+
+        assertEquals(new BigDecimal("2.300"), item.getLearnedConsumptionPerDay());
+        assertEquals(4, item.getConsumptionSamples());
+    }
+
+    @Test
+    void shouldAccumulateSecondPurchaseOnSameDayIntoBaseline() {
+        Item item = newItem("0");
+        LocalDate today = LocalDate.now();
+
+        consumptionEstimator.recordPurchase(item, new BigDecimal("6"), today.minusDays(6));
+        item.setQuantity(new BigDecimal("6"));
+        consumptionEstimator.recordPurchase(item, new BigDecimal("6"), today.minusDays(6));
+        item.setQuantity(new BigDecimal("12"));
+
+        assertEquals(new BigDecimal("12"), item.getStockAfterLastPurchase());
+        assertEquals(0, item.getConsumptionSamples());
+
+        item.setQuantity(BigDecimal.ZERO);
+        consumptionEstimator.recordPurchase(item, new BigDecimal("12"), today);
+
+        assertEquals(new BigDecimal("2.000"), item.getLearnedConsumptionPerDay());
+        assertEquals(1, item.getConsumptionSamples());
+    }
+
+    @Test
+    void shouldSkipSampleWhenNoConsumptionWasRecorded() {
+        Item item = newItem("10");
+        LocalDate today = LocalDate.now();
+        item.setLastPurchasedOn(today.minusDays(5));
+        item.setStockAfterLastPurchase(new BigDecimal("10"));
+        item.setLearnedConsumptionPerDay(new BigDecimal("2.000"));
+
+        consumptionEstimator.recordPurchase(item, new BigDecimal("5"), today);
+
+        assertEquals(new BigDecimal("2.000"), item.getLearnedConsumptionPerDay());
+        assertEquals(0, item.getConsumptionSamples());
+        assertEquals(new BigDecimal("15"), item.getStockAfterLastPurchase());
+        assertEquals(today, item.getLastPurchasedOn());
+    }
+
+    @Test
+    void shouldApplyLearnedRateOnlyWhenAdaptiveConsumptionIsEnabled() {
+        LocalDate today = LocalDate.now();
+
+        Item manual = newItem("0");
+        manual.setLastPurchasedOn(today.minusDays(5));
+        manual.setStockAfterLastPurchase(new BigDecimal("10"));
+        consumptionEstimator.recordPurchase(manual, new BigDecimal("10"), today);
+
+        Item adaptive = newItem("0");
+        adaptive.setAdaptiveConsumption(true);
+        adaptive.setLastPurchasedOn(today.minusDays(5));
+        adaptive.setStockAfterLastPurchase(new BigDecimal("10"));
+        consumptionEstimator.recordPurchase(adaptive, new BigDecimal("10"), today);
+
+        assertEquals(new BigDecimal("1.000"), manual.getAvgConsumptionPerDay());
+        assertEquals(new BigDecimal("2.000"), adaptive.getAvgConsumptionPerDay());
+    }
+
+    private Item newItem(String quantity) {
+        Item item = new Item();
+        item.setQuantity(new BigDecimal(quantity));
+        item.setAvgConsumptionPerDay(new BigDecimal("1.000"));
+        return item;
+    }
+}
@@ -0,0 +1,185 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.shoppinglistitem.repository.ShoppingListItemRepository;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:criticalitemdetection;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class CriticalItemDetectionEquivalenceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShoppingListItemRepository shoppingListItemRepository;
+
+    private final InventoryService inventoryService = new InventoryService(null);
+
+    @Test
+    void shouldSelectSameItemsAsJavaEvaluation() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+
+        User user = persistUser("equivalence@email.com", 5);
+        Category category = persistCategory(user);
+        ShoppingList shoppingList = persistActiveShoppingList(user);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            items.add(persistItem(user, category, "Item " + i, random, today));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<Long> expected = items.stream()
+                .filter(item -> inventoryService.isCritical(item, inventoryService.calculateVirtualStock(item)))
+                .map(Item::getItemId)
+                .collect(Collectors.toSet());
+
+        int inserted = shoppingListItemRepository.insertCriticalItems(
+                shoppingList.getShoppingListId(),
+                user.getUserId(),
+                today
+        );
+
+        Set<Long> actual = findItemIdsInShoppingList(shoppingList);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), inserted);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldNotDuplicateItemsAlreadyInShoppingList() {
+        LocalDate today = LocalDate.now();
+
+        User user = persistUser("duplicate@email.com", 5);
+        Category category = persistCategory(user);
+        ShoppingList shoppingList = persistActiveShoppingList(user);
+
+        Item item = buildItem(user, category, "Arroz");
+        item.setQuantity(new BigDecimal("1.000"));
+        item.setAvgConsumptionPerDay(new BigDecimal("1.000"));
+        item.setLastStockUpdate(today);
+        entityManager.persist(item);
+        entityManager.flush();
+
+        assertEquals(1, shoppingListItemRepository.insertCriticalItems(shoppingList.getShoppingListId(), user.getUserId(), today));
+        assertEquals(0, shoppingListItemRepository.insertCriticalItems(shoppingList.getShoppingListId(), user.getUserId(), today));
+    }
+
+    @Test
+    void shouldIgnoreItemsFromOtherUsers() {
+        LocalDate today = LocalDate.now();
+
+        User user = persistUser("owner@email.com", 5);
+        User anotherUser = persistUser("other@email.com", 5);
+        Category category = persistCategory(anotherUser);
+        ShoppingList shoppingList = persistActiveShoppingList(user);
+
+        Item item = buildItem(anotherUser, category, "Feijão");
+        item.setQuantity(BigDecimal.ZERO);
+        item.setAvgConsumptionPerDay(new BigDecimal("1.000"));
+        item.setLastStockUpdate(today);
+        entityManager.persist(item);
+        entityManager.flush();
+
+        int inserted = shoppingListItemRepository.insertCriticalItems(
+                shoppingList.getShoppingListId(),
+                user.getUserId(),
+                today
+        );
+
+        assertEquals(0, inserted);
+        assertTrue(findItemIdsInShoppingList(shoppingList).isEmpty());
+    }
+
+    private Set<Long> findItemIdsInShoppingList(ShoppingList shoppingList) {
+        return entityManager.getEntityManager()
+                .createQuery(
+                        "SELECT sli FROM ShoppingListItem sli WHERE sli.shoppingList.shoppingListId = :id",
+                        ShoppingListItem.class
+                )
+                .setParameter("id", shoppingList.getShoppingListId())
+                .getResultList()
+                .stream()
+                .map(sli -> sli.getItem().getItemId())
+                .collect(Collectors.toSet());
+    }
+
+    private User persistUser(String email, Integer criticalQuantityDays) {
+        User user = new User(email, "encodedPassword");
+        user.setCriticalQuantityDays(criticalQuantityDays);
+        return entityManager.persist(user);
+    }
+
+    private Category persistCategory(User user) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName("Categoria Teste");
+        return entityManager.persist(category);
+    }
+
+    private ShoppingList persistActiveShoppingList(User user) {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setUser(user);
+        shoppingList.setActive(true);
+        return entityManager.persist(shoppingList);
+    }
+
+    private Item persistItem(User user, Category category, String name, Random random, LocalDate today) {
+        Item item = buildItem(user, category, name);
+        item.setQuantity(scaled(random.nextInt(50_000)));
+        item.setAvgConsumptionPerDay(scaled(random.nextInt(5_000)));
+
+        int daysAgo = random.nextInt(60) - 5;
+        item.setLastStockUpdate(random.nextInt(20) == 0 ? null : today.minusDays(daysAgo));
+        item.setCriticalQuantityDaysOverride(random.nextBoolean() ? null : random.nextInt(15));
+
+        return entityManager.persist(item);
+    }
+
+    private Item buildItem(User user, Category category, String name) {
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName(name);
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setPrice(new BigDecimal("10.00"));
+        return item;
+    }
+
+    private BigDecimal scaled(int unscaled) {
+        return BigDecimal.valueOf(unscaled, 3);
+    }
+}
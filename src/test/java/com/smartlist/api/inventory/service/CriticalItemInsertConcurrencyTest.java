@@ -0,0 +1,130 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.category.repository.CategoryRepository;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.inventory.item.repository.ItemRepository;
+import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
+import com.smartlist.api.shoppinglistitem.repository.ShoppingListItemRepository;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:criticalitemconcurrency;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CriticalItemInsertConcurrencyTest {
+
+    private static final int ITEMS = 20;
+    private static final int SWEEPS = 8;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ShoppingListRepository shoppingListRepository;
+
+    @Autowired
+    private ShoppingListItemRepository shoppingListItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldNotDuplicateItemsWhenSweepsRunConcurrently() throws Exception {
+        LocalDate today = LocalDate.now();
+        User user = new User("concurrent-sweep@email.com", "encodedPassword");
+        user.setCriticalQuantityDays(5);
+        user = userRepository.save(user);
+        Category category = persistCategory(user);
+
+        for (int i = 0; i < ITEMS; i++) {
+            persistCriticalItem(user, category, "Item " + i, today);
+        }
+
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setUser(user);
+        shoppingList.setActive(true);
+        Long shoppingListId = shoppingListRepository.save(shoppingList).getShoppingListId();
+
+        Long userId = user.getUserId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> sweeps = new ArrayList<>();
+        int inserted = 0;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(SWEEPS)) {
+            for (int i = 0; i < SWEEPS; i++) {
+                sweeps.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status ->
+                            shoppingListItemRepository.insertCriticalItems(shoppingListId, userId, today)
+                    );
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Integer> sweep : sweeps) {
+                inserted += sweep.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(ITEMS, inserted);
+        assertEquals(ITEMS, shoppingListItemRepository.count());
+    }
+
+    private Category persistCategory(User user) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName("Categoria Teste");
+        return categoryRepository.save(category);
+    }
+
+    private void persistCriticalItem(User user, Category category, String name, LocalDate today) {
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName(name);
+        item.setQuantity(BigDecimal.ZERO);
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setAvgConsumptionPerDay(BigDecimal.ONE);
+        item.setPrice(new BigDecimal("10.00"));
+        item.setLastStockUpdate(today);
+        itemRepository.save(item);
+    }
+}
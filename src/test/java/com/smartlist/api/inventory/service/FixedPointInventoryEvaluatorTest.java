@@ -0,0 +1,81 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FixedPointInventoryEvaluatorTest {
+
+    private static final long MAX_NUMERIC_10_3 = 9_999_999_999L;
+
+    private final InventoryService inventoryService = new InventoryService(null);
+
+    @Test
+    void shouldMatchBigDecimalEvaluationForRandomizedItems() {
+        Random random = new Random(11);
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < 20_000; i++) {
+            long quantity = random.nextInt(4) == 0 ? random.nextLong(MAX_NUMERIC_10_3 + 1) : random.nextInt(100_000);
+            long avgPerDay = random.nextInt(10) == 0 ? 0 : random.nextInt(10_000);
+            int criticalDays = random.nextInt(30);
+            LocalDate lastStockUpdate = random.nextInt(20) == 0 ? null : today.minusDays(random.nextInt(400) - 10);
+
+            User user = new User();
+            user.setCriticalQuantityDays(criticalDays);
+
+            Item item = new Item();
+            item.setUser(user);
+            item.setQuantity(BigDecimal.valueOf(quantity, 3));
+            item.setAvgConsumptionPerDay(BigDecimal.valueOf(avgPerDay, 3));
+            item.setLastStockUpdate(lastStockUpdate);
+
+            long days = lastStockUpdate == null ? 0 : ChronoUnit.DAYS.between(lastStockUpdate, today);
+
+            BigDecimal expectedStock = referenceVirtualStock(item.getQuantity(), item.getAvgConsumptionPerDay(), days);
+            boolean expectedCritical = expectedStock.compareTo(
+                    item.getAvgConsumptionPerDay().multiply(BigDecimal.valueOf(criticalDays))
+            ) <= 0;
+
+            long actualStock = FixedPointInventoryEvaluator.virtualStock(quantity, avgPerDay, days);
+
+            assertEquals(0, expectedStock.compareTo(FixedPointInventoryEvaluator.fromScaled(actualStock)));
+            assertEquals(expectedCritical, FixedPointInventoryEvaluator.isCritical(quantity, avgPerDay, days, criticalDays));
+            assertEquals(0, expectedStock.compareTo(inventoryService.calculateVirtualStock(item)));
+            assertEquals(expectedCritical, inventoryService.isCritical(item, inventoryService.calculateVirtualStock(item)));
+        }
+    }
+
+    private BigDecimal referenceVirtualStock(BigDecimal quantity, BigDecimal avgPerDay, long days) {
+        return quantity.subtract(avgPerDay.multiply(BigDecimal.valueOf(Math.max(days, 0)))).max(BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldConvertColumnScaleValues() {
+        assertEquals(1500L, FixedPointInventoryEvaluator.toScaled(new BigDecimal("1.5")));
+        assertEquals(1235L, FixedPointInventoryEvaluator.toScaled(new BigDecimal("1.234567")));
+        assertEquals(new BigDecimal("1.500"), FixedPointInventoryEvaluator.fromScaled(1500L));
+    }
+
+    @Test
+    void shouldRejectValuesOutsideLongRange() {
+        assertThrows(ArithmeticException.class, () -> FixedPointInventoryEvaluator.toScaled(new BigDecimal("1E+20")));
+    }
+
+    @Test
+    void shouldSaturateInsteadOfOverflowing() {
+        assertEquals(0L, FixedPointInventoryEvaluator.virtualStock(MAX_NUMERIC_10_3, MAX_NUMERIC_10_3, Long.MAX_VALUE));
+        assertTrue(FixedPointInventoryEvaluator.isCritical(MAX_NUMERIC_10_3, MAX_NUMERIC_10_3, Integer.MAX_VALUE));
+        assertFalse(FixedPointInventoryEvaluator.isCritical(1L, 0L, Integer.MAX_VALUE));
+    }
+}
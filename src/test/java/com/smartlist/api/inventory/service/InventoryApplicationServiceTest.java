@@ -1,20 +1,27 @@
 package com.smartlist.api.inventory.service;
 
 import com.smartlist.api.exceptions.BadRequestException;
+import com.smartlist.api.inventory.event.InventoryChangedEvent;
+import com.smartlist.api.inventory.item.dto.StockAdjustmentItemRequest;
 import com.smartlist.api.inventory.item.model.Item;
 import com.smartlist.api.inventory.item.repository.ItemRepository;
+import com.smartlist.api.inventory.item.repository.ItemStockAdjustmentRepository;
+import com.smartlist.api.inventory.snapshot.service.InventorySnapshotCache;
 import com.smartlist.api.user.model.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,37 +30,45 @@ public class InventoryApplicationServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemStockAdjustmentRepository itemStockAdjustmentRepository;
+
     @Mock
     private InventoryService inventoryService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private InventorySnapshotCache inventorySnapshotCache;
+
+    @Mock
+    private ConsumptionEstimator consumptionEstimator;
+
     @InjectMocks
     private InventoryApplicationService inventoryApplicationService;
 
     @Test
-    void shouldProcessAllItemsWhenItemIsUpdated() {
+    void shouldProcessAllItemsInBatchWhenRefreshingInventory() {
         User user = new User();
 
-        Item item1 = new Item();
-        Item item2 = new Item();
-
-        when(itemRepository.findByUser(user))
-                .thenReturn(List.of(item1, item2));
-
         inventoryApplicationService.refreshInventory(user);
 
-        verify(inventoryService, times(2))
-                .processItem(any(Item.class));
+        verify(inventoryService).processAllItems(user);
+        verify(inventoryService, never()).processItem(any(Item.class));
+        verify(itemRepository, never()).findByUser(user);
     }
 
     @Test
-    void shouldCallInventoryServiceWhenItemUpdated() {
+    void shouldPublishInventoryChangedEventWhenItemUpdated() {
         User user = new User();
         Item item = new Item();
         item.setUser(user);
 
         inventoryApplicationService.onItemUpdated(item);
 
-        verify(inventoryService).processItem(item);
+        verify(eventPublisher).publishEvent(new InventoryChangedEvent(user));
+        verify(inventoryService, never()).processItem(any());
     }
 
     @Test
@@ -68,8 +83,39 @@ public class InventoryApplicationServiceTest {
         assert item.getQuantity().compareTo(new BigDecimal("8")) == 0;
         assert item.getLastStockUpdate() != null;
 
+        verify(consumptionEstimator).recordPurchase(eq(item), eq(new BigDecimal("3")), any());
+        verify(inventoryService).calculateCriticalOn(item);
         verify(itemRepository).save(item);
-        verify(inventoryService).processItem(item);
+        verify(inventorySnapshotCache).invalidate(user);
+        verify(eventPublisher).publishEvent(new InventoryChangedEvent(user));
+        verify(inventoryService, never()).processItem(any());
+    }
+
+    @Test
+    void shouldAddStockForAllPurchasedItemsAtOnce() {
+        User user = new User();
+        user.setUserId(1L);
+
+        Item rice = new Item();
+        rice.setUser(user);
+        rice.setQuantity(new BigDecimal("1"));
+
+        Item beans = new Item();
+        beans.setUser(user);
+        beans.setQuantity(new BigDecimal("2"));
+
+        inventoryApplicationService.addStock(user, List.of(
+                new StockAddition(rice, new BigDecimal("3")),
+                new StockAddition(beans, new BigDecimal("0.5"))
+        ));
+
+        assertEquals(0, rice.getQuantity().compareTo(new BigDecimal("4")));
+        assertEquals(0, beans.getQuantity().compareTo(new BigDecimal("2.5")));
+
+        verify(itemRepository).saveAll(List.of(rice, beans));
+        verify(itemRepository, never()).save(any());
+        verify(inventorySnapshotCache, times(1)).invalidate(user);
+        verify(eventPublisher, times(1)).publishEvent(new InventoryChangedEvent(user));
     }
 
     @Test
@@ -92,7 +138,7 @@ public class InventoryApplicationServiceTest {
         assertEquals("IA2002", exception.getCode());
 
         verify(itemRepository, never()).save(any());
-        verify(inventoryService, never()).processItem(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -112,6 +158,65 @@ public class InventoryApplicationServiceTest {
         assert exception.getCode().equals("IA2001");
 
         verify(itemRepository, never()).save(any());
-        verify(inventoryService, never()).processItem(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldAdjustStockWithMergedDeltas() {
+        User user = new User();
+        user.setUserId(1L);
+
+        when(itemStockAdjustmentRepository.adjustStock(
+                eq(1L),
+                eq(Map.of(10L, new BigDecimal("1.5"), 20L, new BigDecimal("-2"))),
+                any()
+        )).thenReturn(2);
+
+        int updated = inventoryApplicationService.adjustStock(user, List.of(
+                new StockAdjustmentItemRequest(10L, new BigDecimal("1")),
+                new StockAdjustmentItemRequest(20L, new BigDecimal("-2")),
+                new StockAdjustmentItemRequest(10L, new BigDecimal("0.5"))
+        ));
+
+        assertEquals(2, updated);
+        verify(inventorySnapshotCache).invalidate(user);
+        verify(eventPublisher).publishEvent(new InventoryChangedEvent(user));
+    }
+
+    @Test
+    void shouldRejectStockAdjustmentWhenAnyItemIsNotUpdated() {
+        User user = new User();
+        user.setUserId(1L);
+
+        when(itemStockAdjustmentRepository.adjustStock(eq(1L), any(), any())).thenReturn(1);
+
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> inventoryApplicationService.adjustStock(user, List.of(
+                        new StockAdjustmentItemRequest(10L, new BigDecimal("1")),
+                        new StockAdjustmentItemRequest(20L, new BigDecimal("-50"))
+                ))
+        );
+
+        assertEquals("IA2004", exception.getCode());
+        verify(inventorySnapshotCache, never()).invalidate(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldRejectStockAdjustmentWithZeroDelta() {
+        User user = new User();
+        user.setUserId(1L);
+
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> inventoryApplicationService.adjustStock(user, List.of(
+                        new StockAdjustmentItemRequest(10L, new BigDecimal("1")),
+                        new StockAdjustmentItemRequest(10L, new BigDecimal("-1"))
+                ))
+        );
+
+        assertEquals("IA2003", exception.getCode());
+        verifyNoInteractions(itemStockAdjustmentRepository);
     }
 }
@@ -0,0 +1,100 @@
+package com.smartlist.api.inventory.service;
+
+import com.smartlist.api.inventory.event.InventoryChangedEvent;
+import com.smartlist.api.user.model.User;
+import com.smartlist.api.inventory.item.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InventoryRefreshPipelineTest {
+
+    private InventoryApplicationService inventoryApplicationService;
+    private ItemRepository itemRepository;
+    private List<Runnable> queuedTasks;
+    private InventoryRefreshPipeline pipeline;
+
+    @BeforeEach
+    void setup() {
+        inventoryApplicationService = mock(InventoryApplicationService.class);
+        itemRepository = mock(ItemRepository.class);
+        queuedTasks = new ArrayList<>();
+
+        TaskExecutor taskExecutor = queuedTasks::add;
+        pipeline = new InventoryRefreshPipeline(inventoryApplicationService, itemRepository, taskExecutor);
+    }
+
+    @Test
+    void shouldRefreshInventoryInBackgroundWhenInventoryChanges() {
+        User user = userWithId(1L);
+
+        pipeline.onInventoryChanged(new InventoryChangedEvent(user));
+
+        verify(inventoryApplicationService, never()).refreshInventory(any());
+        assertEquals(1, queuedTasks.size());
+
+        queuedTasks.forEach(Runnable::run);
+
+        verify(inventoryApplicationService).refreshInventory(user);
+    }
+
+    @Test
+    void shouldCoalescePendingRefreshesForSameUser() {
+        User user = userWithId(1L);
+
+        pipeline.onInventoryChanged(new InventoryChangedEvent(user));
+        pipeline.onInventoryChanged(new InventoryChangedEvent(user));
+        pipeline.onInventoryChanged(new InventoryChangedEvent(user));
+
+        assertEquals(1, queuedTasks.size());
+
+        queuedTasks.forEach(Runnable::run);
+        pipeline.onInventoryChanged(new InventoryChangedEvent(user));
+
+        assertEquals(2, queuedTasks.size());
+    }
+
+    @Test
+    void shouldKeepProcessingWhenRefreshFails() {
+        User failing = userWithId(1L);
+        User healthy = userWithId(2L);
+
+        doThrow(new RuntimeException("falha")).when(inventoryApplicationService).refreshInventory(failing);
+
+        pipeline.onInventoryChanged(new InventoryChangedEvent(failing));
+        pipeline.onInventoryChanged(new InventoryChangedEvent(healthy));
+        queuedTasks.forEach(Runnable::run);
+
+        verify(inventoryApplicationService).refreshInventory(healthy);
+    }
+
+    @Test
+    void shouldScheduleOnlyUsersWithNewCriticalItemsOnDayRollover() {
+        User user1 = userWithId(1L);
+        User user2 = userWithId(2L);
+
+        when(itemRepository.findUsersWithUnlistedCriticalItems(LocalDate.now()))
+                .thenReturn(List.of(user1, user2));
+
+        pipeline.refreshAllOnDayRollover();
+        queuedTasks.forEach(Runnable::run);
+
+        verify(inventoryApplicationService).refreshInventory(user1);
+        verify(inventoryApplicationService).refreshInventory(user2);
+        verify(inventoryApplicationService, times(2)).refreshInventory(any());
+    }
+
+    private User userWithId(Long id) {
+        User user = new User();
+        user.setUserId(id);
+        return user;
+    }
+}
@@ -11,12 +11,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class InventoryServiceTest {
@@ -118,4 +121,67 @@ public class InventoryServiceTest {
         assertEquals(new BigDecimal("15"), result);
     }
 
+    @Test
+    void shouldDelegateBatchProcessingToShoppingListService() {
+        User user = new User();
+        user.setUserId(1L);
+
+        when(shoppingListService.addCriticalItemsToShoppingList(user, LocalDate.now()))
+                .thenReturn(3);
+
+        int added = inventoryService.processAllItems(user);
+
+        assertEquals(3, added);
+    }
+
+    @Test
+    void shouldCalculateCriticalOnFromLastStockUpdate() {
+        User user = new User();
+        user.setCriticalQuantityDays(2);
+
+        Item item = new Item();
+        item.setUser(user);
+        item.setQuantity(new BigDecimal("10"));
+        item.setAvgConsumptionPerDay(new BigDecimal("1"));
+        item.setLastStockUpdate(LocalDate.of(2025, 1, 1));
+
+        assertEquals(LocalDate.of(2025, 1, 9), inventoryService.calculateCriticalOn(item));
+    }
+
+    @Test
+    void shouldReturnNullCriticalOnWhenItemIsNeverConsumed() {
+        User user = new User();
+        user.setCriticalQuantityDays(5);
+
+        Item item = new Item();
+        item.setUser(user);
+        item.setQuantity(new BigDecimal("3"));
+        item.setAvgConsumptionPerDay(BigDecimal.ZERO);
+        item.setLastStockUpdate(LocalDate.now());
+
+        assertNull(inventoryService.calculateCriticalOn(item));
+    }
+
+    @Test
+    void shouldMatchIsCriticalForRandomizedItems() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            User user = new User();
+            user.setCriticalQuantityDays(random.nextInt(10));
+
+            Item item = new Item();
+            item.setUser(user);
+            item.setQuantity(BigDecimal.valueOf(random.nextInt(100_000), 3));
+            item.setAvgConsumptionPerDay(BigDecimal.valueOf(random.nextInt(5_000), 3));
+            item.setCriticalQuantityDaysOverride(random.nextBoolean() ? null : random.nextInt(15));
+            item.setLastStockUpdate(LocalDate.now().minusDays(random.nextInt(120) - 10));
+
+            LocalDate criticalOn = inventoryService.calculateCriticalOn(item);
+            boolean critical = inventoryService.isCritical(item, inventoryService.calculateVirtualStock(item));
+            boolean criticalByDate = criticalOn != null && !criticalOn.isAfter(LocalDate.now());
+
+            assertEquals(critical, criticalByDate, "Divergência para o item " + item);
+        }
+    }
 }
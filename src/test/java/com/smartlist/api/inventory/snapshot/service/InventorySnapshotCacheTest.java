@@ -0,0 +1,119 @@
+package com.smartlist.api.inventory.snapshot.service;
+
+import com.smartlist.api.infra.config.InventorySnapshotCacheProperties;
+import com.smartlist.api.inventory.item.ItemBuilder;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.inventory.item.repository.ItemRepository;
+import com.smartlist.api.inventory.snapshot.model.InventorySnapshot;
+import com.smartlist.api.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventorySnapshotCacheTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        User user = user(1L);
+        when(itemRepository.findAllWithCategoryByUser(user)).thenReturn(List.of(item(user)));
+        InventorySnapshotCache cache = newCache(DataSize.ofMegabytes(1));
+
+        InventorySnapshot first = cache.get(user);
+        InventorySnapshot second = cache.get(user);
+
+        assertSame(first, second);
+        assertEquals(1, first.items().size());
+        verify(itemRepository, times(1)).findAllWithCategoryByUser(user);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        User user = user(1L);
+        when(itemRepository.findAllWithCategoryByUser(user)).thenReturn(List.of(item(user)));
+        InventorySnapshotCache cache = newCache(DataSize.ofMegabytes(1));
+
+        cache.get(user);
+        cache.invalidate(user);
+        cache.get(user);
+
+        verify(itemRepository, times(2)).findAllWithCategoryByUser(user);
+    }
+
+    @Test
+    void shouldInvalidateAgainWhenTransactionCompletes() {
+        User user = user(1L);
+        when(itemRepository.findAllWithCategoryByUser(user)).thenReturn(List.of(item(user)));
+        InventorySnapshotCache cache = newCache(DataSize.ofMegabytes(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(user);
+        cache.get(user);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        cache.get(user);
+
+        verify(itemRepository, times(2)).findAllWithCategoryByUser(user);
+    }
+
+    @Test
+    void shouldEvictWhenMemoryBoundIsExceeded() {
+        User firstUser = user(1L);
+        User secondUser = user(2L);
+        when(itemRepository.findAllWithCategoryByUser(firstUser)).thenReturn(List.of(item(firstUser), item(firstUser)));
+        when(itemRepository.findAllWithCategoryByUser(secondUser)).thenReturn(List.of(item(secondUser), item(secondUser)));
+        InventorySnapshotCache cache = newCache(DataSize.ofBytes(1_000));
+
+        cache.get(firstUser);
+        cache.get(secondUser);
+        cache.cleanUp();
+
+        assertEquals(1, cache.estimatedSize());
+        assertEquals(1.0, meterRegistry.get("cache.evictions").functionCounter().count());
+    }
+
+    private InventorySnapshotCache newCache(DataSize maxMemory) {
+        InventorySnapshotCacheProperties properties = new InventorySnapshotCacheProperties();
+        properties.setMaxMemory(maxMemory);
+        return new InventorySnapshotCache(itemRepository, properties, meterRegistry);
+    }
+
+    private User user(Long userId) {
+        User user = new User("user" + userId + "@email.com", "encodedPassword");
+        user.setUserId(userId);
+        return user;
+    }
+
+    private Item item(User user) {
+        return ItemBuilder.anItem().buildItem(user);
+    }
+}
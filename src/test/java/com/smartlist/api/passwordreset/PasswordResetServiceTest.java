@@ -3,9 +3,15 @@ package com.smartlist.api.passwordreset;
 import com.smartlist.api.exceptions.BadRequestException;
 import com.smartlist.api.infra.config.PasswordResetProperties;
 import com.smartlist.api.infra.config.RateLimitProperties;
+import com.smartlist.api.infra.ratelimit.RateLimitDecision;
+import com.smartlist.api.infra.ratelimit.RateLimitKey;
+import com.smartlist.api.infra.ratelimit.RateLimiter;
+import com.smartlist.api.infra.security.PasswordHasher;
+import com.smartlist.api.infra.security.PrincipalCache;
 import com.smartlist.api.notification.email.service.EmailService;
 import com.smartlist.api.passwordreset.dto.PasswordExchangeRequest;
 import com.smartlist.api.passwordreset.dto.PasswordResetRequest;
+import com.smartlist.api.passwordreset.dto.PasswordResetRequest;
 import com.smartlist.api.passwordreset.enums.PasswordResetTokenStatus;
 import com.smartlist.api.passwordreset.model.PasswordResetToken;
 import com.smartlist.api.passwordreset.repository.PasswordResetTokenRepository;
@@ -18,8 +24,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,11 +48,17 @@ class PasswordResetServiceTest {
     private PasswordStrengthService passwordStrengthService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
     private PasswordResetService passwordResetService;
 
     @BeforeEach
@@ -67,13 +79,45 @@ class PasswordResetServiceTest {
                 userService,
                 emailService,
                 passwordStrengthService,
-                passwordEncoder,
+                passwordHasher,
                 userRepository,
+                principalCache,
+                rateLimiter,
                 passwordResetProperties,
                 rateLimitProperties
         );
     }
 
+    @Test
+    void shouldRejectResetRequestWhenEmailLimitIsExceeded() {
+        PasswordResetRequest dto = new PasswordResetRequest("Test@Example.com", "10.0.0.1", "JUnit");
+
+        when(rateLimiter.tryAcquire(eq(RateLimitKey.of("password-reset:email", "test@example.com")), eq(5), eq(Duration.ofSeconds(60))))
+                .thenReturn(RateLimitDecision.rejected(5, Duration.ofSeconds(30)));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> passwordResetService.requestPasswordReset(dto));
+
+        assertEquals("P3001", exception.getCode());
+        verify(userService, never()).findByEmail(any());
+    }
+
+    @Test
+    void shouldRejectResetRequestWhenIpLimitIsExceeded() {
+        PasswordResetRequest dto = new PasswordResetRequest("test@example.com", "10.0.0.1", "JUnit");
+
+        when(rateLimiter.tryAcquire(eq(RateLimitKey.of("password-reset:email", "test@example.com")), eq(5), any()))
+                .thenReturn(RateLimitDecision.allowed(5, 4, Duration.ofSeconds(60)));
+        when(rateLimiter.tryAcquire(eq(RateLimitKey.of("password-reset:ip", "10.0.0.1")), eq(10), any()))
+                .thenReturn(RateLimitDecision.rejected(10, Duration.ofSeconds(30)));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> passwordResetService.requestPasswordReset(dto));
+
+        assertEquals("P3003", exception.getCode());
+        verify(passwordResetTokenRepository, never()).save(any());
+    }
+
     @Test
     void shouldResetPasswordSuccessfully() {
         User user = new User();
@@ -93,13 +137,15 @@ class PasswordResetServiceTest {
         when(userRepository.findByEmail(user.getEmail()))
                 .thenReturn(Optional.of(user));
 
-        when(passwordEncoder.encode("newPassword")).thenReturn("encodedPassword");
+        when(passwordHasher.encode("newPassword")).thenReturn("encodedPassword");
 
         PasswordExchangeRequest dto = new PasswordExchangeRequest(token.getToken(), "newPassword");
 
         passwordResetService.resetPassword(dto);
 
         verify(passwordStrengthService, times(1)).validatePasswordStrength("newPassword");
+        verify(principalCache).invalidate(1L);
+        assertEquals(1, user.getCredentialsVersion());
         assertEquals(PasswordResetTokenStatus.USED, token.getStatus());
     }
 
@@ -117,7 +163,8 @@ class PasswordResetServiceTest {
                 () -> passwordResetService.getValidToken(token.getToken()));
 
         assertEquals("P3005", exception.getCode());
-        assertEquals(PasswordResetTokenStatus.EXPIRED, token.getStatus());
+        assertEquals(PasswordResetTokenStatus.PENDING, token.getStatus());
+        verify(passwordResetTokenRepository, never()).save(any());
     }
 
     @Test
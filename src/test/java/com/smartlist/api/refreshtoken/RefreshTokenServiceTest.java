@@ -1,17 +1,17 @@
 package com.smartlist.api.refreshtoken;
 
+import com.smartlist.api.infra.security.VerifiedToken;
 import com.smartlist.api.refreshtoken.model.RefreshToken;
 import com.smartlist.api.refreshtoken.repository.RefreshTokenRepository;
+import com.smartlist.api.refreshtoken.service.RefreshTokenDigest;
 import com.smartlist.api.refreshtoken.service.RefreshTokenService;
 import com.smartlist.api.user.model.User;
-import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.time.Instant;
-import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,51 +37,59 @@ class RefreshTokenServiceTest {
     void shouldReturnEmptyWhenTokenNotFound() {
         String token = "nonexistent-token";
 
-        when(refreshTokenRepository.findByToken(token)).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findById("token-id")).thenReturn(Optional.empty());
 
-        Optional<RefreshToken> result = refreshTokenService.findByToken(token);
+        Optional<RefreshToken> result = refreshTokenService.findByToken(verified("token-id"), token);
 
         assertTrue(result.isEmpty());
-        verify(refreshTokenRepository).findByToken(token);
+        verify(refreshTokenRepository).findById("token-id");
     }
 
     @Test
     void shouldFindByTokenSuccessfully() {
         String token = "valid-token";
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setToken(token);
+        refreshToken.setRefreshTokenId("token-id");
+        refreshToken.setTokenDigest(RefreshTokenDigest.of(token));
         refreshToken.setUser(user);
 
-        when(refreshTokenRepository.findByToken(token)).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.findById("token-id")).thenReturn(Optional.of(refreshToken));
 
-        Optional<RefreshToken> result = refreshTokenService.findByToken(token);
+        Optional<RefreshToken> result = refreshTokenService.findByToken(verified("token-id"), token);
 
         assertTrue(result.isPresent());
-        assertEquals(token, result.get().getToken());
         assertEquals(user, result.get().getUser());
-        verify(refreshTokenRepository).findByToken(token);
+        verify(refreshTokenRepository).findById("token-id");
+    }
+
+    @Test
+    void shouldNotFindTokenWhenDigestDoesNotMatch() {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setRefreshTokenId("token-id");
+        refreshToken.setTokenDigest(RefreshTokenDigest.of("stored-token"));
+
+        when(refreshTokenRepository.findById("token-id")).thenReturn(Optional.of(refreshToken));
+
+        assertTrue(refreshTokenService.findByToken(verified("token-id"), "other-token").isEmpty());
     }
 
     @Test
     void shouldSaveTokenSuccessfully() {
         String token = "refresh-token";
-        Claims claims = mock(Claims.class);
-
-        // Stubs apenas neste teste
-        when(claims.getId()).thenReturn("claim-id");
-        when(claims.getExpiration()).thenReturn(Date.from(Instant.now().plusSeconds(3600)));
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        VerifiedToken verified = new VerifiedToken("test@email.com", "claim-id", null, null, Instant.now(), expiresAt);
 
-        refreshTokenService.saveToken(token, claims, user);
+        refreshTokenService.saveToken(token, verified, user);
 
         ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
         verify(refreshTokenRepository).save(captor.capture());
 
         RefreshToken savedToken = captor.getValue();
-        assertEquals(token, savedToken.getToken());
+        assertArrayEquals(RefreshTokenDigest.of(token), savedToken.getTokenDigest());
         assertEquals("claim-id", savedToken.getRefreshTokenId());
         assertEquals(user, savedToken.getUser());
         assertFalse(savedToken.isUsed());
-        assertEquals(claims.getExpiration().toInstant(), savedToken.getExpiresAt());
+        assertEquals(expiresAt, savedToken.getExpiresAt());
     }
 
     @Test
@@ -94,4 +102,8 @@ class RefreshTokenServiceTest {
         assertTrue(refreshToken.isUsed());
         verify(refreshTokenRepository).save(refreshToken);
     }
+
+    private VerifiedToken verified(String tokenId) {
+        return new VerifiedToken("test@email.com", tokenId, null, null, Instant.now(), Instant.now().plusSeconds(3600));
+    }
 }
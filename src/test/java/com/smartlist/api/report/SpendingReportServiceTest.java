@@ -0,0 +1,75 @@
+package com.smartlist.api.report;
+
+import com.smartlist.api.exceptions.BadRequestException;
+import com.smartlist.api.report.repository.SpendingRollupRepository;
+import com.smartlist.api.report.service.SpendingReportService;
+import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingReportServiceTest {
+
+    @Mock
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Mock
+    private ShoppingListRepository shoppingListRepository;
+
+    @InjectMocks
+    private SpendingReportService spendingReportService;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        user = new User("report@email.com", "encodedPassword");
+        user.setUserId(1L);
+    }
+
+    @Test
+    void shouldApplyShoppingListToTheMonthItWasFinalized() {
+        LocalDateTime finalizedAt = LocalDateTime.of(2026, 10, 18, 9, 30);
+        when(shoppingListRepository.markFinalized(10L, finalizedAt)).thenReturn(1);
+
+        spendingReportService.recordFinalizedShoppingList(user, 10L, finalizedAt);
+
+        verify(spendingRollupRepository).insertMissingRollups(1L, LocalDate.of(2026, 10, 1), 10L);
+        verify(spendingRollupRepository).addShoppingList(1L, LocalDate.of(2026, 10, 1), 10L);
+    }
+
+    @Test
+    void shouldNotApplyShoppingListAlreadyFinalized() {
+        LocalDateTime finalizedAt = LocalDateTime.of(2026, 10, 18, 9, 30);
+        when(shoppingListRepository.markFinalized(10L, finalizedAt)).thenReturn(0);
+
+        spendingReportService.recordFinalizedShoppingList(user, 10L, finalizedAt);
+
+        verifyNoInteractions(spendingRollupRepository);
+    }
+
+    @Test
+    void shouldRejectInvertedPeriod() {
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> spendingReportService.getMonthlySpending(user, YearMonth.of(2026, 5), YearMonth.of(2026, 4))
+        );
+
+        assertEquals("RP1001", ex.getCode());
+    }
+}
@@ -0,0 +1,175 @@
+package com.smartlist.api.report;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.report.dto.MonthlySpendingResponse;
+import com.smartlist.api.report.repository.SpendingRollupRepository;
+import com.smartlist.api.report.service.SpendingReportService;
+import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:spendingrollup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@Import(SpendingReportService.class)
+class SpendingRollupRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SpendingReportService spendingReportService;
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Test
+    void shouldApplyEachFinalizedShoppingListOnce() {
+        User user = entityManager.persist(new User("rollup@email.com", "encodedPassword"));
+        Category grocery = persistCategory(user, "Mercearia");
+        Category cleaning = persistCategory(user, "Limpeza");
+        Item rice = persistItem(user, grocery, "Arroz");
+        Item beans = persistItem(user, grocery, "Feijão");
+        Item soap = persistItem(user, cleaning, "Sabão");
+
+        ShoppingList first = persistShoppingList(user);
+        persistShoppingListItem(first, rice, "1", "10.00");
+        persistShoppingListItem(first, soap, "2", "8.50");
+        persistShoppingListItem(first, beans, "0", "0.00");
+
+        ShoppingList second = persistShoppingList(user);
+        persistShoppingListItem(second, beans, "1", "6.25");
+
+        LocalDateTime finalizedAt = LocalDateTime.of(2026, 3, 15, 10, 0);
+        spendingReportService.recordFinalizedShoppingList(user, first.getShoppingListId(), finalizedAt);
+        spendingReportService.recordFinalizedShoppingList(user, first.getShoppingListId(), finalizedAt.plusHours(1));
+        spendingReportService.recordFinalizedShoppingList(user, second.getShoppingListId(), finalizedAt.plusDays(1));
+        entityManager.clear();
+
+        List<MonthlySpendingResponse> spending = spendingReportService.getMonthlySpending(
+                user,
+                YearMonth.of(2026, 1),
+                YearMonth.of(2026, 12)
+        );
+
+        LocalDate march = LocalDate.of(2026, 3, 1);
+        assertEquals(List.of(
+                new MonthlySpendingResponse(march, grocery.getCategoryId(), "Mercearia", new BigDecimal("16.25"), 2),
+                new MonthlySpendingResponse(march, cleaning.getCategoryId(), "Limpeza", new BigDecimal("8.50"), 1)
+        ), spending);
+    }
+
+    @Test
+    void shouldRebuildTheSameTotalsFromHistory() {
+        User user = entityManager.persist(new User("rebuild@email.com", "encodedPassword"));
+        Category grocery = persistCategory(user, "Mercearia");
+        Item rice = persistItem(user, grocery, "Arroz");
+
+        ShoppingList march = persistShoppingList(user);
+        persistShoppingListItem(march, rice, "1", "10.00");
+        ShoppingList april = persistShoppingList(user);
+        persistShoppingListItem(april, rice, "2", "21.00");
+
+        spendingReportService.recordFinalizedShoppingList(user, march.getShoppingListId(), LocalDateTime.of(2026, 3, 31, 23, 59));
+        spendingReportService.recordFinalizedShoppingList(user, april.getShoppingListId(), LocalDateTime.of(2026, 4, 1, 0, 1));
+        entityManager.clear();
+
+        List<MonthlySpendingResponse> incremental = spendingReportService.getMonthlySpending(user, YearMonth.of(2026, 1), YearMonth.of(2026, 12));
+
+        spendingRollupRepository.deleteAll();
+        int rebuilt = spendingReportService.rebuildUserRange(user.getUserId() - 1, user.getUserId());
+        entityManager.clear();
+
+        assertEquals(2, rebuilt);
+        assertEquals(incremental, spendingReportService.getMonthlySpending(user, YearMonth.of(2026, 1), YearMonth.of(2026, 12)));
+    }
+
+    @Test
+    void shouldGroupUncategorizedItemsInIncrementalAndRebuiltTotals() {
+        User user = entityManager.persist(new User("uncategorized@email.com", "encodedPassword"));
+        Category grocery = persistCategory(user, "Mercearia");
+        Item rice = persistItem(user, grocery, "Arroz");
+        Item candle = persistItem(user, null, "Vela");
+        Item matches = persistItem(user, null, "Fósforo");
+
+        ShoppingList shoppingList = persistShoppingList(user);
+        persistShoppingListItem(shoppingList, rice, "1", "10.00");
+        persistShoppingListItem(shoppingList, candle, "2", "7.00");
+        persistShoppingListItem(shoppingList, matches, "1", "1.50");
+
+        spendingReportService.recordFinalizedShoppingList(user, shoppingList.getShoppingListId(), LocalDateTime.of(2026, 5, 10, 9, 0));
+        entityManager.clear();
+
+        List<MonthlySpendingResponse> incremental = spendingReportService.getMonthlySpending(user, YearMonth.of(2026, 5), YearMonth.of(2026, 5));
+
+        LocalDate may = LocalDate.of(2026, 5, 1);
+        assertEquals(List.of(
+                new MonthlySpendingResponse(may, null, null, new BigDecimal("8.50"), 2),
+                new MonthlySpendingResponse(may, grocery.getCategoryId(), "Mercearia", new BigDecimal("10.00"), 1)
+        ), incremental);
+
+        spendingRollupRepository.deleteAll();
+        spendingReportService.rebuildUserRange(user.getUserId() - 1, user.getUserId());
+        entityManager.clear();
+
+        assertEquals(incremental, spendingReportService.getMonthlySpending(user, YearMonth.of(2026, 5), YearMonth.of(2026, 5)));
+    }
+
+    private ShoppingList persistShoppingList(User user) {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setUser(user);
+        shoppingList.setActive(false);
+        return entityManager.persist(shoppingList);
+    }
+
+    private void persistShoppingListItem(ShoppingList shoppingList, Item item, String quantity, String subtotal) {
+        ShoppingListItem shoppingListItem = new ShoppingListItem();
+        shoppingListItem.setShoppingList(shoppingList);
+        shoppingListItem.setItem(item);
+        shoppingListItem.setPurchasedQuantity(new BigDecimal(quantity));
+        shoppingListItem.setUnitaryPrice(new BigDecimal(subtotal));
+        shoppingListItem.setSubtotal(new BigDecimal(subtotal));
+        entityManager.persist(shoppingListItem);
+    }
+
+    private Category persistCategory(User user, String name) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName(name);
+        return entityManager.persist(category);
+    }
+
+    private Item persistItem(User user, Category category, String name) {
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName(name);
+        item.setQuantity(BigDecimal.ONE);
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setAvgConsumptionPerDay(BigDecimal.ONE);
+        item.setPrice(new BigDecimal("10.00"));
+        return entityManager.persist(item);
+    }
+}
@@ -5,22 +5,31 @@ import com.smartlist.api.inventory.item.model.Item;
 import com.smartlist.api.inventory.item.repository.ItemRepository;
 import com.smartlist.api.inventory.item.service.ItemService;
 import com.smartlist.api.inventory.service.InventoryApplicationService;
+import com.smartlist.api.inventory.service.StockAddition;
+import com.smartlist.api.report.service.SpendingReportService;
 import com.smartlist.api.shoppinglist.dto.FinalizePurchaseRequest;
 import com.smartlist.api.shoppinglist.dto.PurchasedItemRequest;
+import com.smartlist.api.shoppinglist.event.ShoppingListChange;
+import com.smartlist.api.shoppinglist.event.ShoppingListChangedEvent;
+import com.smartlist.api.shoppinglist.dto.ShoppingListResponse;
 import com.smartlist.api.shoppinglist.model.ShoppingList;
 import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
 import com.smartlist.api.shoppinglist.service.ShoppingListApplicationService;
 import com.smartlist.api.shoppinglist.service.ShoppingListService;
 import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.shoppinglistitem.repository.ShoppingListItemRepository;
 import com.smartlist.api.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,12 +48,21 @@ class ShoppingListApplicationServiceTest {
     @Mock
     private ShoppingListRepository shoppingListRepository;
 
+    @Mock
+    private ShoppingListItemRepository shoppingListItemRepository;
+
     @Mock
     private ItemService itemService;
 
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private SpendingReportService spendingReportService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShoppingListApplicationService applicationService;
 
@@ -83,12 +101,26 @@ class ShoppingListApplicationServiceTest {
 
         shoppingList.setItems(List.of(item1, item2));
 
-        when(
+        lenient().when(
                 shoppingListRepository.findByShoppingListIdAndUserAndActiveTrue(
                         shoppingList.getShoppingListId(),
                         user
                 )
         ).thenReturn(Optional.of(shoppingList));
+
+        lenient().when(shoppingListItemRepository.findAllWithItemByShoppingList(shoppingList))
+                .thenReturn(List.of(item1, item2));
+    }
+
+    @Test
+    void shouldReadActiveShoppingListWithoutRefreshingInventory() {
+        ShoppingListResponse response = new ShoppingListResponse(10L, true, 0L, List.of());
+
+        when(shoppingListService.getOrCreateActiveShoppingListByUser(user)).thenReturn(response);
+
+        assertEquals(response, applicationService.getActive(user));
+
+        verify(inventoryApplicationService, never()).refreshInventory(any());
     }
 
     @Test
@@ -116,13 +148,41 @@ class ShoppingListApplicationServiceTest {
         assertEquals(new BigDecimal("10.00"), item2.getUnitaryPrice());
         assertEquals(new BigDecimal("10.00"), item2.getSubtotal());
 
-        verify(inventoryApplicationService)
-                .addStock(user, inventoryItem1, new BigDecimal("2"));
+        List<StockAddition> additions = captureStockAdditions();
 
-        verify(inventoryApplicationService)
-                .addStock(user, inventoryItem2, new BigDecimal("1"));
+        assertEquals(2, additions.size());
+        assertTrue(additions.contains(new StockAddition(inventoryItem1, new BigDecimal("2"))));
+        assertTrue(additions.contains(new StockAddition(inventoryItem2, new BigDecimal("1"))));
 
+        verify(shoppingListItemRepository).saveAll(any());
         verify(shoppingListRepository).save(shoppingList);
+        verify(spendingReportService).recordFinalizedShoppingList(eq(user), eq(shoppingList.getShoppingListId()), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(new ShoppingListChangedEvent(
+                user.getUserId(),
+                ShoppingListChange.finalized(shoppingList.getShoppingListId())
+        ));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPurchasedItemDoesNotBelongToShoppingList() {
+        FinalizePurchaseRequest request = new FinalizePurchaseRequest(
+                List.of(
+                        new PurchasedItemRequest(99L, new BigDecimal("1"), new BigDecimal("5.00"))
+                )
+        );
+
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> applicationService.finalizeShoppingList(
+                        shoppingList.getShoppingListId(),
+                        request,
+                        user
+                )
+        );
+
+        assertEquals("SLA1002", ex.getCode());
+        assertTrue(shoppingList.isActive());
+        verifyNoInteractions(inventoryApplicationService);
     }
 
 
@@ -181,11 +241,70 @@ class ShoppingListApplicationServiceTest {
         );
 
         assertEquals(BigDecimal.ZERO, item2.getPurchasedQuantity());
-        assertNull(item2.getUnitaryPrice());
-        assertEquals(BigDecimal.ZERO, item2.getSubtotal());
+        assertEquals(BigDecimal.ZERO, item2.getUnitaryPrice());
+        assertEquals(0, BigDecimal.ZERO.compareTo(item2.getSubtotal()));
 
-        verify(inventoryApplicationService, never())
-                .addStock(eq(user), eq(inventoryItem2), any());
+        assertEquals(List.of(new StockAddition(inventoryItem1, new BigDecimal("2"))), captureStockAdditions());
+    }
+
+    @Test
+    void shouldFinalizePartiallyPurchasedShoppingList() {
+        ShoppingListItem item3 = new ShoppingListItem();
+        item3.setShoppingListItemId(3L);
+        item3.setItem(new Item());
+        item3.setShoppingList(shoppingList);
+
+        item2.setUnitaryPrice(new BigDecimal("7.50"));
+        item3.setUnitaryPrice(new BigDecimal("3.00"));
+
+        when(shoppingListItemRepository.findAllWithItemByShoppingList(shoppingList))
+                .thenReturn(List.of(item1, item2, item3));
+
+        FinalizePurchaseRequest request = new FinalizePurchaseRequest(
+                List.of(
+                        new PurchasedItemRequest(1L, new BigDecimal("2"), new BigDecimal("5.00")),
+                        new PurchasedItemRequest(2L, BigDecimal.ZERO, null),
+                        new PurchasedItemRequest(3L, BigDecimal.ZERO, new BigDecimal("4.00"))
+                )
+        );
+
+        applicationService.finalizeShoppingList(
+                shoppingList.getShoppingListId(),
+                request,
+                user
+        );
+
+        assertFalse(shoppingList.isActive());
+
+        assertEquals(new BigDecimal("7.50"), item2.getUnitaryPrice());
+        assertEquals(0, BigDecimal.ZERO.compareTo(item2.getSubtotal()));
+
+        assertEquals(new BigDecimal("4.00"), item3.getUnitaryPrice());
+        assertEquals(0, BigDecimal.ZERO.compareTo(item3.getSubtotal()));
+
+        assertEquals(List.of(new StockAddition(inventoryItem1, new BigDecimal("2"))), captureStockAdditions());
+    }
+
+    @Test
+    void shouldSaveOnlyShoppingListItemsChangedByFinalization() {
+        item2.setPurchasedQuantity(BigDecimal.ZERO);
+        item2.setUnitaryPrice(new BigDecimal("7.50"));
+        item2.setSubtotal(BigDecimal.ZERO);
+
+        FinalizePurchaseRequest request = new FinalizePurchaseRequest(
+                List.of(
+                        new PurchasedItemRequest(1L, new BigDecimal("2"), new BigDecimal("5.00"))
+                )
+        );
+
+        applicationService.finalizeShoppingList(
+                shoppingList.getShoppingListId(),
+                request,
+                user
+        );
+
+        verify(shoppingListItemRepository).saveAll(List.of(item1));
+        assertEquals(new BigDecimal("7.50"), item2.getUnitaryPrice());
     }
 
     @Test
@@ -210,4 +329,11 @@ class ShoppingListApplicationServiceTest {
 
         assertEquals("SLA1001", ex.getCode());
     }
+
+    @SuppressWarnings("unchecked")
+    private List<StockAddition> captureStockAdditions() {
+        ArgumentCaptor<List<StockAddition>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventoryApplicationService).addStock(eq(user), captor.capture());
+        return captor.getValue();
+    }
 }
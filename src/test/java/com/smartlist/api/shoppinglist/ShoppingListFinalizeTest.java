@@ -0,0 +1,123 @@
+package com.smartlist.api.shoppinglist;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.inventory.item.service.ItemService;
+import com.smartlist.api.inventory.service.InventoryApplicationService;
+import com.smartlist.api.report.service.SpendingReportService;
+import com.smartlist.api.shoppinglist.dto.FinalizePurchaseRequest;
+import com.smartlist.api.shoppinglist.dto.ShoppingListResponse;
+import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglist.repository.ShoppingListHistoryRepository;
+import com.smartlist.api.shoppinglist.service.ShoppingListApplicationService;
+import com.smartlist.api.shoppinglist.service.ShoppingListService;
+import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:shoppinglistfinalize;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@Import({ShoppingListApplicationService.class, ShoppingListService.class, ShoppingListHistoryRepository.class})
+class ShoppingListFinalizeTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShoppingListApplicationService applicationService;
+
+    @MockitoBean
+    private InventoryApplicationService inventoryApplicationService;
+
+    @MockitoBean
+    private ItemService itemService;
+
+    @MockitoBean
+    private SpendingReportService spendingReportService;
+
+    @Test
+    void shouldOpenEmptyActiveShoppingListForNewUser() {
+        User user = entityManager.persist(new User("novo@email.com", "encodedPassword"));
+
+        ShoppingListResponse active = applicationService.getActive(user);
+
+        assertTrue(active.isActive());
+        assertTrue(active.items().isEmpty());
+    }
+
+    @Test
+    void shouldOpenNextActiveShoppingListAfterFinalizingWithoutPurchases() {
+        User user = entityManager.persist(new User("sem-compras@email.com", "encodedPassword"));
+        ShoppingList shoppingList = persistActiveShoppingList(user, persistItem(user));
+
+        applicationService.finalizeShoppingList(shoppingList.getShoppingListId(), new FinalizePurchaseRequest(List.of()), user);
+        entityManager.flush();
+        entityManager.clear();
+
+        ShoppingListResponse active = applicationService.getActive(user);
+
+        assertTrue(active.isActive());
+        assertNotEquals(shoppingList.getShoppingListId(), active.shoppingListId());
+        assertTrue(active.items().isEmpty());
+        assertFalse(entityManager.find(ShoppingList.class, shoppingList.getShoppingListId()).isActive());
+
+        verify(inventoryApplicationService, never()).addStock(any(), any());
+    }
+
+    private ShoppingList persistActiveShoppingList(User user, Item item) {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setUser(user);
+        shoppingList.setActive(true);
+        entityManager.persist(shoppingList);
+
+        ShoppingListItem shoppingListItem = new ShoppingListItem();
+        shoppingListItem.setShoppingList(shoppingList);
+        shoppingListItem.setItem(item);
+        shoppingListItem.setPurchasedQuantity(BigDecimal.ZERO);
+        shoppingListItem.setUnitaryPrice(item.getPrice());
+        shoppingListItem.setSubtotal(BigDecimal.ZERO);
+        entityManager.persist(shoppingListItem);
+        entityManager.flush();
+
+        return shoppingList;
+    }
+
+    private Item persistItem(User user) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName("Mercearia");
+        entityManager.persist(category);
+
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName("Arroz");
+        item.setQuantity(BigDecimal.ONE);
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setAvgConsumptionPerDay(BigDecimal.ONE);
+        item.setPrice(new BigDecimal("10.00"));
+        return entityManager.persist(item);
+    }
+}
@@ -0,0 +1,131 @@
+package com.smartlist.api.shoppinglist;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.shoppinglist.dto.ShoppingListSummaryResponse;
+import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglist.repository.ShoppingListHistoryRepository;
+import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:shoppinglisthistory;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@Import(ShoppingListHistoryRepository.class)
+class ShoppingListHistoryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShoppingListHistoryRepository shoppingListHistoryRepository;
+
+    @Test
+    void shouldAggregateItemCountAndTotalSpentPerList() {
+        User user = entityManager.persist(new User("history@email.com", "encodedPassword"));
+        Item rice = persistItem(user, "Arroz");
+        Item beans = persistItem(user, "Feijão");
+
+        ShoppingList empty = persistShoppingList(user, false);
+        ShoppingList finalized = persistShoppingList(user, false);
+        persistShoppingListItem(finalized, rice, "12.50");
+        persistShoppingListItem(finalized, beans, "7.25");
+
+        ShoppingList active = persistShoppingList(user, true);
+        persistShoppingListItem(active, rice, "99.00");
+
+        entityManager.flush();
+
+        List<ShoppingListSummaryResponse> page = shoppingListHistoryRepository.findInactivePage(user.getUserId(), 10);
+
+        assertEquals(2, page.size());
+        assertEquals(finalized.getShoppingListId(), page.get(0).shoppingListId());
+        assertEquals(2, page.get(0).itemCount());
+        assertEquals(0, new BigDecimal("19.75").compareTo(page.get(0).totalSpent()));
+        assertEquals(empty.getShoppingListId(), page.get(1).shoppingListId());
+        assertEquals(0, page.get(1).itemCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(page.get(1).totalSpent()));
+    }
+
+    @Test
+    void shouldWalkTheHistoryWithoutSkippingOrRepeatingLists() {
+        User user = entityManager.persist(new User("keyset@email.com", "encodedPassword"));
+        User anotherUser = entityManager.persist(new User("other-keyset@email.com", "encodedPassword"));
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.addFirst(persistShoppingList(user, false).getShoppingListId());
+        }
+        persistShoppingList(anotherUser, false);
+        entityManager.flush();
+
+        List<Long> walked = new ArrayList<>();
+        List<ShoppingListSummaryResponse> page = shoppingListHistoryRepository.findInactivePage(user.getUserId(), 2);
+
+        while (!page.isEmpty()) {
+            page.forEach(summary -> walked.add(summary.shoppingListId()));
+            ShoppingListSummaryResponse lastRow = page.getLast();
+            page = shoppingListHistoryRepository.findInactivePageAfter(
+                    user.getUserId(),
+                    lastRow.createdAt(),
+                    lastRow.shoppingListId(),
+                    2
+            );
+        }
+
+        assertEquals(expected, walked);
+    }
+
+    private ShoppingList persistShoppingList(User user, boolean active) {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setUser(user);
+        shoppingList.setActive(active);
+        return entityManager.persist(shoppingList);
+    }
+
+    private void persistShoppingListItem(ShoppingList shoppingList, Item item, String subtotal) {
+        ShoppingListItem shoppingListItem = new ShoppingListItem();
+        shoppingListItem.setShoppingList(shoppingList);
+        shoppingListItem.setItem(item);
+        shoppingListItem.setPurchasedQuantity(BigDecimal.ONE);
+        shoppingListItem.setUnitaryPrice(new BigDecimal(subtotal));
+        shoppingListItem.setSubtotal(new BigDecimal(subtotal));
+        entityManager.persist(shoppingListItem);
+    }
+
+    private Item persistItem(User user, String name) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName("Categoria Teste");
+        entityManager.persist(category);
+
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName(name);
+        item.setQuantity(BigDecimal.ONE);
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setAvgConsumptionPerDay(BigDecimal.ONE);
+        item.setPrice(new BigDecimal("10.00"));
+        return entityManager.persist(item);
+    }
+}
@@ -0,0 +1,116 @@
+package com.smartlist.api.shoppinglist;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.shoppinglistitem.repository.ShoppingListItemRepository;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:shoppinglistitemrepository;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class ShoppingListItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShoppingListItemRepository shoppingListItemRepository;
+
+    @Test
+    void shouldNotFindItemsOfFinalizedShoppingListsForEdits() {
+        User user = entityManager.persist(new User("editable@email.com", "encodedPassword"));
+        Item rice = persistItem(user, "Arroz");
+
+        ShoppingListItem finalized = persistShoppingListItem(persistShoppingList(user, false), rice);
+        ShoppingListItem active = persistShoppingListItem(persistShoppingList(user, true), rice);
+        entityManager.flush();
+
+        assertTrue(shoppingListItemRepository.findActiveByIdAndUser(finalized.getShoppingListItemId(), user).isEmpty());
+        assertEquals(
+                active.getShoppingListItemId(),
+                shoppingListItemRepository.findActiveByIdAndUser(active.getShoppingListItemId(), user)
+                        .orElseThrow()
+                        .getShoppingListItemId()
+        );
+
+        List<ShoppingListItem> editable = shoppingListItemRepository.findAllActiveByIdsAndUser(
+                Set.of(finalized.getShoppingListItemId(), active.getShoppingListItemId()),
+                user
+        );
+
+        assertEquals(1, editable.size());
+        assertEquals(active.getShoppingListItemId(), editable.getFirst().getShoppingListItemId());
+    }
+
+    @Test
+    void shouldFindInventoryItemOnlyOnActiveShoppingList() {
+        User user = entityManager.persist(new User("renamed@email.com", "encodedPassword"));
+        Item rice = persistItem(user, "Arroz");
+        Item beans = persistItem(user, "Feijão");
+
+        persistShoppingListItem(persistShoppingList(user, false), beans);
+        ShoppingListItem active = persistShoppingListItem(persistShoppingList(user, true), rice);
+        entityManager.flush();
+
+        assertEquals(
+                active.getShoppingListItemId(),
+                shoppingListItemRepository.findActiveByItemAndUser(rice, user).orElseThrow().getShoppingListItemId()
+        );
+        assertTrue(shoppingListItemRepository.findActiveByItemAndUser(beans, user).isEmpty());
+    }
+
+    private ShoppingList persistShoppingList(User user, boolean active) {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setUser(user);
+        shoppingList.setActive(active);
+        return entityManager.persist(shoppingList);
+    }
+
+    private ShoppingListItem persistShoppingListItem(ShoppingList shoppingList, Item item) {
+        ShoppingListItem shoppingListItem = new ShoppingListItem();
+        shoppingListItem.setShoppingList(shoppingList);
+        shoppingListItem.setItem(item);
+        shoppingListItem.setPurchasedQuantity(BigDecimal.ONE);
+        shoppingListItem.setUnitaryPrice(new BigDecimal("10.00"));
+        shoppingListItem.setSubtotal(new BigDecimal("10.00"));
+        return entityManager.persist(shoppingListItem);
+    }
+
+    private Item persistItem(User user, String name) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName("Categoria " + name);
+        entityManager.persist(category);
+
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName(name);
+        item.setQuantity(BigDecimal.ONE);
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setAvgConsumptionPerDay(BigDecimal.ONE);
+        item.setPrice(new BigDecimal("10.00"));
+        return entityManager.persist(item);
+    }
+}
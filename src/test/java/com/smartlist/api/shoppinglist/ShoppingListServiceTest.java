@@ -1,11 +1,19 @@
 package com.smartlist.api.shoppinglist;
 
 import com.smartlist.api.exceptions.BadRequestException;
+import com.smartlist.api.infra.common.dto.KeysetPageResponse;
 import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.shoppinglist.dto.ShoppingListItemBulkUpdateEntry;
 import com.smartlist.api.shoppinglist.dto.ShoppingListResponse;
 import com.smartlist.api.shoppinglist.dto.ShoppingListItemUpdateRequest;
+import com.smartlist.api.shoppinglist.dto.ShoppingListSummaryResponse;
+import com.smartlist.api.shoppinglist.event.ShoppingListChange;
+import com.smartlist.api.shoppinglist.event.ShoppingListChangedEvent;
 import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglist.repository.ShoppingListHistoryRepository;
 import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
+import com.smartlist.api.shoppinglist.service.ShoppingListCursor;
+import com.smartlist.api.shoppinglist.service.ShoppingListETag;
 import com.smartlist.api.shoppinglist.service.ShoppingListService;
 import com.smartlist.api.shoppinglistitem.dto.ShoppingListItemResponse;
 import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
@@ -17,10 +25,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +49,12 @@ public class ShoppingListServiceTest {
     @Mock
     private ShoppingListItemRepository shoppingListItemRepository;
 
+    @Mock
+    private ShoppingListHistoryRepository shoppingListHistoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private User user;
 
     @BeforeEach
@@ -83,6 +101,33 @@ public class ShoppingListServiceTest {
         assertEquals("SL1001", ex.getCode());
     }
 
+    @Test
+    void shouldMatchETagOfUnchangedActiveShoppingList() {
+        when(shoppingListRepository.findActiveVersion(9L, user)).thenReturn(Optional.empty());
+        when(shoppingListRepository.findActiveVersion(10L, user)).thenReturn(Optional.of(3L));
+
+        Optional<ShoppingListETag> unchanged =
+                shoppingListService.findUnchangedActiveShoppingList(user, "\"9-1\", W/\"10-3\"");
+
+        assertEquals(Optional.of(ShoppingListETag.of(10L, 3L)), unchanged);
+        verify(shoppingListItemRepository, never()).findItemsByShoppingListId(any());
+    }
+
+    @Test
+    void shouldNotMatchETagWhenVersionChanged() {
+        when(shoppingListRepository.findActiveVersion(10L, user)).thenReturn(Optional.of(4L));
+
+        assertTrue(shoppingListService.findUnchangedActiveShoppingList(user, "\"10-3\"").isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreMalformedETag() {
+        assertTrue(shoppingListService.findUnchangedActiveShoppingList(user, "*").isEmpty());
+        assertTrue(shoppingListService.findUnchangedActiveShoppingList(user, "\"abc\"").isEmpty());
+
+        verify(shoppingListRepository, never()).findActiveVersion(any(), any());
+    }
+
     @Test
     void shouldReturnShoppingListById() {
         ShoppingList shoppingList = new ShoppingList();
@@ -116,60 +161,179 @@ public class ShoppingListServiceTest {
 
     @Test
     void shouldCreateAndActivateShoppingList() {
-        when(shoppingListRepository.save(any(ShoppingList.class)))
-                .thenAnswer(i -> i.getArgument(0));
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setActive(true);
+        shoppingList.setUser(user);
+
+        when(shoppingListRepository.findByUserAndActiveTrue(user))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(shoppingList));
+
+        when(shoppingListRepository.insertActiveIfAbsent(1L)).thenReturn(1);
 
         ShoppingList result = shoppingListService.getOrActiveShoppingList(user);
 
         assertTrue(result.isActive());
         assertEquals(user, result.getUser());
 
-        verify(shoppingListRepository).save(any(ShoppingList.class));
+        verify(shoppingListRepository).insertActiveIfAbsent(1L);
+        verify(shoppingListRepository, never()).save(any(ShoppingList.class));
+    }
+
+    @Test
+    void shouldReturnConcurrentlyCreatedShoppingListWhenUpsertConflicts() {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setShoppingListId(30L);
+        shoppingList.setActive(true);
+        shoppingList.setUser(user);
+
+        when(shoppingListRepository.findByUserAndActiveTrue(user))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(shoppingList));
+
+        when(shoppingListRepository.insertActiveIfAbsent(1L)).thenReturn(0);
+
+        ShoppingList result = shoppingListService.getOrActiveShoppingList(user);
+
+        assertEquals(30L, result.getShoppingListId());
+    }
+
+    @Test
+    void shouldNotUpsertWhenActiveShoppingListExists() {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setActive(true);
+        shoppingList.setUser(user);
+
+        when(shoppingListRepository.findByUserAndActiveTrue(user))
+                .thenReturn(Optional.of(shoppingList));
+
+        assertEquals(shoppingList, shoppingListService.getOrActiveShoppingList(user));
+
+        verify(shoppingListRepository, never()).insertActiveIfAbsent(any());
     }
 
     @Test
     void shouldAddItemToShoppingListWhenNotExists() {
         ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setShoppingListId(10L);
         shoppingList.setActive(true);
         shoppingList.setUser(user);
 
         Item item = new Item();
         item.setItemId(5L);
+        item.setPrice(new BigDecimal("7.50"));
 
         when(shoppingListRepository.findByUserAndActiveTrue(user))
                 .thenReturn(Optional.of(shoppingList));
 
-        when(shoppingListItemRepository.existsByShoppingListAndItem(shoppingList, item))
-                .thenReturn(false);
+        when(shoppingListItemRepository.insertIfAbsent(10L, 5L, new BigDecimal("7.50")))
+                .thenReturn(1);
 
         shoppingListService.addItemToShoppingList(item, user);
 
-        verify(shoppingListItemRepository).save(any(ShoppingListItem.class));
+        verify(shoppingListItemRepository).insertIfAbsent(10L, 5L, new BigDecimal("7.50"));
+        verify(shoppingListItemRepository, never()).save(any(ShoppingListItem.class));
+        verify(shoppingListRepository).incrementVersion(10L);
+        verify(eventPublisher).publishEvent(new ShoppingListChangedEvent(1L, ShoppingListChange.itemsAdded(10L, 5L, 1)));
     }
 
     @Test
     void shouldNotAddItemIfAlreadyInShoppingList() {
         ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setShoppingListId(10L);
         shoppingList.setActive(true);
         shoppingList.setUser(user);
 
         Item item = new Item();
         item.setItemId(5L);
+        item.setPrice(new BigDecimal("7.50"));
 
         when(shoppingListRepository.findByUserAndActiveTrue(user))
                 .thenReturn(Optional.of(shoppingList));
 
-        when(shoppingListItemRepository.existsByShoppingListAndItem(shoppingList, item))
-                .thenReturn(true);
+        when(shoppingListItemRepository.insertIfAbsent(10L, 5L, new BigDecimal("7.50")))
+                .thenReturn(0);
 
         shoppingListService.addItemToShoppingList(item, user);
 
         verify(shoppingListItemRepository, never()).save(any());
+        verify(shoppingListRepository, never()).incrementVersion(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldInsertCriticalItemsIntoActiveShoppingList() {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setShoppingListId(10L);
+        shoppingList.setActive(true);
+        shoppingList.setUser(user);
+
+        LocalDate today = LocalDate.now();
+
+        when(shoppingListRepository.findByUserAndActiveTrue(user))
+                .thenReturn(Optional.of(shoppingList));
+
+        when(shoppingListItemRepository.insertCriticalItems(10L, 1L, today))
+                .thenReturn(2);
+
+        int inserted = shoppingListService.addCriticalItemsToShoppingList(user, today);
+
+        assertEquals(2, inserted);
+        verify(shoppingListRepository).incrementVersion(10L);
+        verify(shoppingListItemRepository, never()).insertIfAbsent(any(), any(), any());
+        verify(shoppingListItemRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenHistoryHasMorePages() {
+        LocalDateTime now = LocalDateTime.now();
+        ShoppingListSummaryResponse newest = new ShoppingListSummaryResponse(3L, now, 2, new BigDecimal("19.75"));
+        ShoppingListSummaryResponse middle = new ShoppingListSummaryResponse(2L, now.minusDays(1), 0, BigDecimal.ZERO);
+        ShoppingListSummaryResponse oldest = new ShoppingListSummaryResponse(1L, now.minusDays(2), 1, BigDecimal.TEN);
+
+        when(shoppingListHistoryRepository.findInactivePage(1L, 3))
+                .thenReturn(List.of(newest, middle, oldest));
+
+        KeysetPageResponse<ShoppingListSummaryResponse> response = shoppingListService.listShoppingListHistory(user, null, 2);
+
+        assertEquals(List.of(newest, middle), response.getContent());
+        assertFalse(response.isLast());
+        assertEquals(new ShoppingListCursor(middle.createdAt(), 2L), ShoppingListCursor.parse(response.getNextCursor()).orElseThrow());
+    }
+
+    @Test
+    void shouldContinueHistoryFromCursor() {
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(1);
+        ShoppingListSummaryResponse oldest = new ShoppingListSummaryResponse(1L, createdAt.minusDays(1), 1, BigDecimal.TEN);
+
+        when(shoppingListHistoryRepository.findInactivePageAfter(1L, createdAt, 2L, 3))
+                .thenReturn(List.of(oldest));
+
+        KeysetPageResponse<ShoppingListSummaryResponse> response = shoppingListService.listShoppingListHistory(
+                user,
+                new ShoppingListCursor(createdAt, 2L).value(),
+                2
+        );
+
+        assertEquals(List.of(oldest), response.getContent());
+        assertTrue(response.isLast());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectInvalidHistoryCursor() {
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> shoppingListService.listShoppingListHistory(user, "not-a-cursor", 10)
+        );
+
+        assertEquals("SL1006", ex.getCode());
+        verifyNoInteractions(shoppingListHistoryRepository);
     }
 
     @Test
     void shouldThrowExceptionWhenUpdatingNonExistingItem() {
-        when(shoppingListItemRepository.findByShoppingListItemIdAndShoppingList_User(1L, user))
+        when(shoppingListItemRepository.findActiveByIdAndUser(1L, user))
                 .thenReturn(Optional.empty());
 
         ShoppingListItemUpdateRequest request =
@@ -186,10 +350,11 @@ public class ShoppingListServiceTest {
     @Test
     void shouldRecalculateSubtotalWhenQuantityChanges() {
         ShoppingListItem item = spy(new ShoppingListItem());
+        item.setShoppingList(shoppingList(10L));
         item.setPurchasedQuantity(BigDecimal.ONE);
         item.setUnitaryPrice(BigDecimal.TEN);
 
-        when(shoppingListItemRepository.findByShoppingListItemIdAndShoppingList_User(1L, user))
+        when(shoppingListItemRepository.findActiveByIdAndUser(1L, user))
                 .thenReturn(Optional.of(item));
 
         ShoppingListItemUpdateRequest request =
@@ -199,18 +364,126 @@ public class ShoppingListServiceTest {
 
         verify(item).recalculateSubtotal();
         verify(shoppingListItemRepository).save(item);
+        verify(shoppingListRepository).incrementVersion(10L);
+    }
+
+    @Test
+    void shouldUpdateShoppingListItemsInBulk() {
+        ShoppingListItem rice = shoppingListItem(1L, shoppingList(10L), "1", "10.00");
+        ShoppingListItem beans = shoppingListItem(2L, shoppingList(10L), "1", "8.00");
+        ShoppingListItem salt = shoppingListItem(3L, shoppingList(10L), "1", "3.00");
+
+        when(shoppingListItemRepository.findAllActiveByIdsAndUser(Set.of(1L, 2L, 3L), user))
+                .thenReturn(List.of(rice, beans, salt));
+
+        int updated = shoppingListService.updateShoppingListItems(user, List.of(
+                new ShoppingListItemBulkUpdateEntry(1L, new BigDecimal("3"), null),
+                new ShoppingListItemBulkUpdateEntry(2L, null, new BigDecimal("9.50")),
+                new ShoppingListItemBulkUpdateEntry(3L, BigDecimal.ONE, new BigDecimal("3.00"))
+        ));
+
+        assertEquals(2, updated);
+        assertEquals(0, new BigDecimal("30.00").compareTo(rice.getSubtotal()));
+        assertEquals(0, new BigDecimal("9.50").compareTo(beans.getSubtotal()));
+        verify(shoppingListItemRepository).saveAll(List.of(rice, beans));
+        verify(shoppingListItemRepository, never()).save(any());
+        verify(shoppingListRepository, times(1)).incrementVersion(10L);
+        verify(eventPublisher, times(2)).publishEvent(any(ShoppingListChangedEvent.class));
+    }
+
+    @Test
+    void shouldRejectBulkUpdateWhenAnyItemIsNotFound() {
+        ShoppingListItem rice = shoppingListItem(1L, shoppingList(10L), "1", "10.00");
+
+        when(shoppingListItemRepository.findAllActiveByIdsAndUser(Set.of(1L, 99L), user))
+                .thenReturn(List.of(rice));
+
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> shoppingListService.updateShoppingListItems(user, List.of(
+                        new ShoppingListItemBulkUpdateEntry(1L, BigDecimal.TWO, null),
+                        new ShoppingListItemBulkUpdateEntry(99L, BigDecimal.TWO, null)
+                ))
+        );
+
+        assertEquals("SL1004", ex.getCode());
+        assertEquals(0, BigDecimal.ONE.compareTo(rice.getPurchasedQuantity()));
+        verify(shoppingListItemRepository, never()).saveAll(any());
     }
 
     @Test
     void shouldDeleteShoppingListItem() {
         ShoppingListItem item = new ShoppingListItem();
+        item.setShoppingList(shoppingList(10L));
 
-        when(shoppingListItemRepository.findByShoppingListItemIdAndShoppingList_User(1L, user))
+        when(shoppingListItemRepository.findActiveByIdAndUser(1L, user))
                 .thenReturn(Optional.of(item));
 
         shoppingListService.deleteShoppingListItem(1L, user);
 
+        verify(shoppingListRepository).incrementVersion(10L);
+
         verify(shoppingListItemRepository).delete(item);
+        verify(eventPublisher).publishEvent(new ShoppingListChangedEvent(1L, ShoppingListChange.itemRemoved(item)));
+    }
+
+    @Test
+    void shouldBumpVersionWhenItemOnActiveShoppingListIsRenamed() {
+        Item inventoryItem = new Item();
+        inventoryItem.setItemId(5L);
+        ShoppingListItem item = shoppingListItem(1L, shoppingList(10L), "0", "4.00");
+        item.setItem(inventoryItem);
+
+        when(shoppingListItemRepository.findActiveByItemAndUser(inventoryItem, user)).thenReturn(Optional.of(item));
+
+        shoppingListService.onItemRenamed(inventoryItem, user);
+
+        verify(shoppingListRepository).incrementVersion(10L);
+        verify(eventPublisher).publishEvent(new ShoppingListChangedEvent(1L, ShoppingListChange.itemUpdated(item)));
     }
 
+    @Test
+    void shouldIgnoreRenameOfItemNotOnActiveShoppingList() {
+        Item inventoryItem = new Item();
+
+        when(shoppingListItemRepository.findActiveByItemAndUser(inventoryItem, user)).thenReturn(Optional.empty());
+
+        shoppingListService.onItemRenamed(inventoryItem, user);
+
+        verifyNoInteractions(shoppingListRepository, eventPublisher);
+    }
+
+    @Test
+    void shouldRemoveDeletedItemFromActiveShoppingList() {
+        Item inventoryItem = new Item();
+        inventoryItem.setItemId(5L);
+        ShoppingListItem item = shoppingListItem(1L, shoppingList(10L), "0", "4.00");
+        item.setItem(inventoryItem);
+
+        when(shoppingListItemRepository.findActiveByItemAndUser(inventoryItem, user)).thenReturn(Optional.of(item));
+
+        shoppingListService.removeItemFromActiveShoppingList(inventoryItem, user);
+
+        verify(shoppingListItemRepository).delete(item);
+        verify(shoppingListRepository).incrementVersion(10L);
+        verify(eventPublisher).publishEvent(new ShoppingListChangedEvent(1L, ShoppingListChange.itemRemoved(item)));
+    }
+
+    private ShoppingListItem shoppingListItem(Long shoppingListItemId, ShoppingList shoppingList, String quantity, String price) {
+        ShoppingListItem item = new ShoppingListItem();
+        item.setShoppingListItemId(shoppingListItemId);
+        item.setShoppingList(shoppingList);
+        item.setPurchasedQuantity(new BigDecimal(quantity));
+        item.setUnitaryPrice(new BigDecimal(price));
+        item.recalculateSubtotal();
+        return item;
+    }
+
+    private ShoppingList shoppingList(Long shoppingListId) {
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setShoppingListId(shoppingListId);
+        shoppingList.setActive(true);
+        shoppingList.setUser(user);
+        return shoppingList;
+    }
 }
@@ -0,0 +1,95 @@
+package com.smartlist.api.shoppinglist;
+
+import com.smartlist.api.inventory.category.model.Category;
+import com.smartlist.api.inventory.item.enums.AverageConsumptionUnit;
+import com.smartlist.api.inventory.item.enums.UnitOfMeasure;
+import com.smartlist.api.inventory.item.model.Item;
+import com.smartlist.api.shoppinglist.model.ShoppingList;
+import com.smartlist.api.shoppinglist.repository.ShoppingListRepository;
+import com.smartlist.api.shoppinglistitem.model.ShoppingListItem;
+import com.smartlist.api.shoppinglistitem.repository.ShoppingListItemRepository;
+import com.smartlist.api.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:shoppinglistupsert;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class ShoppingListUpsertTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShoppingListRepository shoppingListRepository;
+
+    @Autowired
+    private ShoppingListItemRepository shoppingListItemRepository;
+
+    @Test
+    void shouldCreateActiveShoppingListThroughUpsert() {
+        User user = entityManager.persist(new User("upsert@email.com", "encodedPassword"));
+
+        assertEquals(1, shoppingListRepository.insertActiveIfAbsent(user.getUserId()));
+
+        ShoppingList shoppingList = shoppingListRepository.findByUserAndActiveTrue(user).orElseThrow();
+        assertTrue(shoppingList.isActive());
+    }
+
+    @Test
+    void shouldInsertShoppingListItemOnlyOnce() {
+        User user = entityManager.persist(new User("item-upsert@email.com", "encodedPassword"));
+        Item item = persistItem(user);
+
+        ShoppingList shoppingList = new ShoppingList();
+        shoppingList.setUser(user);
+        shoppingList.setActive(true);
+        entityManager.persist(shoppingList);
+        entityManager.flush();
+
+        Long shoppingListId = shoppingList.getShoppingListId();
+
+        assertEquals(1, shoppingListItemRepository.insertIfAbsent(shoppingListId, item.getItemId(), item.getPrice()));
+        assertEquals(0, shoppingListItemRepository.insertIfAbsent(shoppingListId, item.getItemId(), item.getPrice()));
+
+        entityManager.clear();
+
+        List<ShoppingListItem> items = shoppingListItemRepository.findAllWithItemByShoppingList(
+                entityManager.find(ShoppingList.class, shoppingListId)
+        );
+
+        assertEquals(1, items.size());
+        assertEquals(0, new BigDecimal("10.00").compareTo(items.getFirst().getUnitaryPrice()));
+    }
+
+    private Item persistItem(User user) {
+        Category category = new Category();
+        category.setUser(user);
+        category.setName("Categoria Teste");
+        entityManager.persist(category);
+
+        Item item = new Item();
+        item.setUser(user);
+        item.setCategory(category);
+        item.setName("Arroz");
+        item.setQuantity(BigDecimal.ONE);
+        item.setUnit(UnitOfMeasure.UNIT);
+        item.setAvgConsumptionValue(BigDecimal.ONE);
+        item.setAvgConsumptionUnit(AverageConsumptionUnit.DAY);
+        item.setAvgConsumptionPerDay(BigDecimal.ONE);
+        item.setPrice(new BigDecimal("10.00"));
+        return entityManager.persist(item);
+    }
+}
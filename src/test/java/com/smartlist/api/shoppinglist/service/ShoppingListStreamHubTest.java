@@ -0,0 +1,165 @@
+package com.smartlist.api.shoppinglist.service;
+
+import com.smartlist.api.infra.config.ShoppingListStreamProperties;
+import com.smartlist.api.infra.security.CredentialsRevokedEvent;
+import com.smartlist.api.shoppinglist.event.ShoppingListChange;
+import com.smartlist.api.shoppinglist.event.ShoppingListChangedEvent;
+import com.smartlist.api.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShoppingListStreamHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldFanOutChangesOnlyToSubscribersOfTheSameUser() throws InterruptedException {
+        Deque<RecordingEmitter> emitters = new ArrayDeque<>();
+        ShoppingListStreamHub hub = newHub(32, emitters, false);
+
+        hub.subscribe(user(1L), null);
+        hub.subscribe(user(1L), null);
+        hub.subscribe(user(2L), null);
+
+        RecordingEmitter otherUser = emitters.removeLast();
+
+        hub.onShoppingListChanged(new ShoppingListChangedEvent(1L, ShoppingListChange.finalized(10L)));
+
+        for (RecordingEmitter emitter : emitters) {
+            assertTrue(emitter.sent.tryAcquire(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(0, otherUser.sent.availablePermits());
+        assertEquals(3, hub.subscriberCount());
+    }
+
+    @Test
+    void shouldEvictSubscriberWhenBufferIsFull() {
+        Deque<RecordingEmitter> emitters = new ArrayDeque<>();
+        ShoppingListStreamHub hub = newHub(2, emitters, true);
+
+        hub.subscribe(user(1L), null);
+
+        for (int i = 0; i < 4; i++) {
+            hub.onShoppingListChanged(new ShoppingListChangedEvent(1L, ShoppingListChange.itemsAdded(10L, null, 1)));
+        }
+
+        assertEquals(0, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("shoppinglist.stream.evictions").tag("reason", "slow_consumer").counter().count());
+        assertEquals(0.0, meterRegistry.get("shoppinglist.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void shouldEvictOldestConnectionWhenUserExceedsLimit() {
+        Deque<RecordingEmitter> emitters = new ArrayDeque<>();
+        ShoppingListStreamHub hub = newHub(32, emitters, false);
+
+        for (int i = 0; i < 3; i++) {
+            hub.subscribe(user(1L), null);
+        }
+
+        RecordingEmitter oldest = emitters.removeFirst();
+
+        assertTrue(oldest.completed);
+        assertTrue(emitters.stream().noneMatch(emitter -> emitter.completed));
+        assertEquals(2, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("shoppinglist.stream.evictions").tag("reason", "connection_limit").counter().count());
+    }
+
+    @Test
+    void shouldCloseAllConnectionsOfUserWhenCredentialsAreRevoked() {
+        Deque<RecordingEmitter> emitters = new ArrayDeque<>();
+        ShoppingListStreamHub hub = newHub(32, emitters, false);
+
+        hub.subscribe(user(1L), null);
+        hub.subscribe(user(1L), null);
+        hub.subscribe(user(2L), null);
+
+        RecordingEmitter otherUser = emitters.removeLast();
+
+        hub.onCredentialsRevoked(new CredentialsRevokedEvent(1L));
+
+        assertTrue(emitters.stream().allMatch(emitter -> emitter.completed));
+        assertFalse(otherUser.completed);
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test
+    void shouldNotKeepConnectionOpenPastAccessTokenExpiry() {
+        Deque<RecordingEmitter> emitters = new ArrayDeque<>();
+        ShoppingListStreamHub hub = newHub(32, emitters, false);
+
+        hub.subscribe(user(1L), Instant.now().plus(Duration.ofMinutes(5)));
+        hub.subscribe(user(2L), null);
+
+        assertTrue(emitters.getFirst().getTimeout() <= Duration.ofMinutes(5).toMillis());
+        assertEquals(Duration.ofMinutes(30).toMillis(), emitters.getLast().getTimeout());
+    }
+
+    private ShoppingListStreamHub newHub(int bufferSize, Deque<RecordingEmitter> emitters, boolean blocking) {
+        ShoppingListStreamProperties properties = new ShoppingListStreamProperties();
+        properties.setBufferSize(bufferSize);
+        properties.setMaxConnectionsPerUser(2);
+
+        return new ShoppingListStreamHub(properties, meterRegistry) {
+            @Override
+            SseEmitter createEmitter(Duration timeout) {
+                RecordingEmitter emitter = new RecordingEmitter(timeout, blocking);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private User user(Long userId) {
+        User user = new User("user" + userId + "@email.com", "encodedPassword");
+        user.setUserId(userId);
+        return user;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final Semaphore sent = new Semaphore(0);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final boolean blocking;
+        private volatile boolean completed;
+
+        private RecordingEmitter(Duration timeout, boolean blocking) {
+            super(timeout.toMillis());
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+
+            sent.release();
+        }
+    }
+}
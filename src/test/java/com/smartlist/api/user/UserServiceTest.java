@@ -3,6 +3,7 @@ package com.smartlist.api.user;
 import com.smartlist.api.exceptions.EmailAlreadyExistsException;
 import com.smartlist.api.exceptions.PhoneNumberRequiredException;
 import com.smartlist.api.exceptions.WeakPasswordException;
+import com.smartlist.api.infra.security.PasswordHasher;
 import com.smartlist.api.user.dto.UserRegisterRequest;
 import com.smartlist.api.user.enums.NotificationPreference;
 import com.smartlist.api.user.model.User;
@@ -14,7 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -29,7 +29,7 @@ class UserServiceTest {
     private PasswordStrengthService passwordStrengthService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private UserRepository userRepository;
@@ -47,7 +47,7 @@ class UserServiceTest {
         when(userRepository.findByEmail(dto.email()))
                 .thenReturn(Optional.empty());
 
-        when(passwordEncoder.encode(dto.password()))
+        when(passwordHasher.encode(dto.password()))
                 .thenReturn("encodedPassword");
 
         userService.register(dto);
@@ -132,7 +132,7 @@ class UserServiceTest {
         when(userRepository.findByEmail(dto.email()))
                 .thenReturn(Optional.empty());
 
-        when(passwordEncoder.encode(dto.password()))
+        when(passwordHasher.encode(dto.password()))
                 .thenReturn("encodedPassword");
 
         userService.register(dto);